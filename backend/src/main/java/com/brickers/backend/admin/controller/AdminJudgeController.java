@@ -3,6 +3,7 @@ package com.brickers.backend.admin.controller;
 import com.brickers.backend.admin.dto.JudgeRequest;
 import com.brickers.backend.admin.dto.JudgeResponse;
 import com.brickers.backend.admin.service.AdminJudgeService;
+import com.brickers.backend.common.ratelimit.RateLimited;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +16,7 @@ public class AdminJudgeController {
 
     private final AdminJudgeService adminJudgeService;
 
+    @RateLimited("admin-judge")
     @PostMapping
     public JudgeResponse judge(@RequestBody JudgeRequest req) {
         return adminJudgeService.judge(req.getLdrUrl());
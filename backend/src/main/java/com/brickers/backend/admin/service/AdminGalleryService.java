@@ -4,6 +4,8 @@ import com.brickers.backend.admin.dto.AdminGalleryPostDto;
 import com.brickers.backend.gallery.entity.GalleryPostEntity;
 import com.brickers.backend.gallery.entity.Visibility;
 import com.brickers.backend.gallery.repository.GalleryPostRepository;
+import com.brickers.backend.gallery.service.GalleryPageCache;
+import com.brickers.backend.gallery.service.GallerySearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
 public class AdminGalleryService {
 
     private final GalleryPostRepository galleryPostRepository;
+    private final GalleryPageCache galleryPageCache;
+    private final GallerySearchService gallerySearchService;
 
     @Transactional(readOnly = true)
     public Page<AdminGalleryPostDto> getAllPosts(String keyword, Visibility visibility, Boolean deleted, int page,
@@ -27,13 +31,8 @@ public class AdminGalleryService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
 
         if (keyword != null && !keyword.isBlank()) {
-            if (visibility != null) {
-                return galleryPostRepository.searchAdmin(keyword, visibility, isDeleted, pageable)
-                        .map(AdminGalleryPostDto::from);
-            } else {
-                return galleryPostRepository.searchAdminNoVisibility(keyword, isDeleted, pageable)
-                        .map(AdminGalleryPostDto::from);
-            }
+            return gallerySearchService.searchAdmin(keyword, visibility, isDeleted, pageable)
+                    .map(AdminGalleryPostDto::from);
         } else {
             if (visibility != null) {
                 return galleryPostRepository.findByVisibilityAndDeleted(visibility, isDeleted, pageable)
@@ -53,6 +52,7 @@ public class AdminGalleryService {
         post.setDeleted(true);
         post.setUpdatedAt(LocalDateTime.now());
         galleryPostRepository.save(post);
+        galleryPageCache.invalidateAll();
     }
 
     @Transactional
@@ -64,6 +64,7 @@ public class AdminGalleryService {
                                                 // BLIND/HIDDEN
         post.setUpdatedAt(LocalDateTime.now());
         galleryPostRepository.save(post);
+        galleryPageCache.invalidateAll();
     }
 
     @Transactional
@@ -74,5 +75,6 @@ public class AdminGalleryService {
         post.setVisibility(Visibility.PUBLIC);
         post.setUpdatedAt(LocalDateTime.now());
         galleryPostRepository.save(post);
+        galleryPageCache.invalidateAll();
     }
 }
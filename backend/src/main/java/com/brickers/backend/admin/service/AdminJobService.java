@@ -5,6 +5,8 @@ import com.brickers.backend.job.entity.GenerateJobEntity;
 import com.brickers.backend.job.entity.JobStage;
 import com.brickers.backend.job.entity.JobStatus;
 import com.brickers.backend.job.repository.GenerateJobRepository;
+import com.brickers.backend.job.service.JobCancellationRegistry;
+import com.brickers.backend.job.service.JobRetryDispatcher;
 import com.brickers.backend.user.entity.User;
 import com.brickers.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,8 @@ public class AdminJobService {
 
     private final GenerateJobRepository jobRepository;
     private final UserRepository userRepository;
+    private final JobCancellationRegistry jobCancellationRegistry;
+    private final JobRetryDispatcher jobRetryDispatcher;
 
     @Transactional(readOnly = true)
     public Page<AdminJobDto> getAllJobs(JobStatus status, String userSearch, Boolean reportedOnly, int page, int size) {
@@ -94,6 +98,7 @@ public class AdminJobService {
 
         job.requestRetry(fromStage);
         jobRepository.save(job);
+        jobRetryDispatcher.dispatch(jobId);
         return AdminJobDto.from(job);
     }
 
@@ -109,10 +114,10 @@ public class AdminJobService {
             throw new IllegalStateException("Cancel is allowed only for QUEUED or RUNNING jobs");
         }
 
-        // NOTE: RUNNING인 경우 DB만 바꾸면 워커가 실제로 멈추진 않음.
-        // 추후 워커 취소 플래그/큐 취소 연동 필요.
+        // RUNNING이면 DB 변경만으로는 워커가 멈추지 않으므로 진행 중 작업까지 중단
         job.markCanceled("Admin cancelled");
         jobRepository.save(job);
+        jobCancellationRegistry.cancel(jobId);
         return AdminJobDto.from(job);
     }
 
@@ -6,6 +6,7 @@ import com.brickers.backend.gallery.entity.GalleryPostEntity;
 import com.brickers.backend.gallery.entity.Visibility;
 import com.brickers.backend.gallery.repository.GalleryCommentRepository;
 import com.brickers.backend.gallery.repository.GalleryPostRepository;
+import com.brickers.backend.gallery.service.GalleryPageCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -24,6 +25,7 @@ public class AdminModerationService {
 
     private final GalleryPostRepository postRepository;
     private final GalleryCommentRepository commentRepository;
+    private final GalleryPageCache galleryPageCache;
 
     @Transactional(readOnly = true)
     public List<ModerationItemDto> getRecentContents(int days, int limit) {
@@ -80,6 +82,7 @@ public class AdminModerationService {
                 post.setVisibility(Visibility.PRIVATE);
                 post.setUpdatedAt(LocalDateTime.now());
                 postRepository.save(post);
+                galleryPageCache.invalidateAll();
             });
         } else if ("comment".equals(type)) {
             commentRepository.findById(targetId).ifPresent(comment -> {
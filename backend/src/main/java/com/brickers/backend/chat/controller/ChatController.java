@@ -3,6 +3,7 @@ package com.brickers.backend.chat.controller;
 import com.brickers.backend.chat.dto.ChatRequest;
 import com.brickers.backend.chat.dto.ChatResponse;
 import com.brickers.backend.chat.service.ChatService;
+import com.brickers.backend.common.ratelimit.RateLimited;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +15,7 @@ public class ChatController {
 
     private final ChatService chatService;
 
+    @RateLimited("chat")
     @PostMapping("/query")
     public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest request) {
         return ResponseEntity.ok(chatService.processChat(request));
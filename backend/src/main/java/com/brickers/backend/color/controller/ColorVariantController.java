@@ -4,6 +4,7 @@ import com.brickers.backend.color.dto.ColorVariantRequest;
 import com.brickers.backend.color.dto.ColorVariantResponse;
 import com.brickers.backend.color.dto.ThemeInfo;
 import com.brickers.backend.color.service.ColorVariantService;
+import com.brickers.backend.common.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class ColorVariantController {
     }
 
     @Operation(summary = "색상 테마 적용", description = "LDR 파일에 선택한 색상 테마를 적용합니다.")
+    @RateLimited("color-variant")
     @PostMapping
     public ResponseEntity<ColorVariantResponse> applyColorVariant(@RequestBody ColorVariantRequest request) {
         ColorVariantResponse response = colorVariantService.applyColorVariant(request);
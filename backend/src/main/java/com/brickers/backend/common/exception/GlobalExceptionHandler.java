@@ -5,6 +5,8 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -125,6 +127,29 @@ public class GlobalExceptionHandler {
                                                 req.getRequestURI()));
         }
 
+        // ✅ 503: 생성 파이프라인 포화 (동시 생성 한도 초과)
+        @ExceptionHandler(TaskRejectedException.class)
+        public ResponseEntity<ApiError> handleTaskRejected(
+                        TaskRejectedException e,
+                        HttpServletRequest req) {
+                log.warn("TaskRejectedException at {}: {}", req.getRequestURI(), e.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "30")
+                                .body(ApiError.of(HttpStatus.SERVICE_UNAVAILABLE, "SERVER_BUSY",
+                                                "요청이 많아 잠시 후 다시 시도해 주세요.", req.getRequestURI()));
+        }
+
+        // ✅ 429: 유저/엔드포인트 요청 한도 초과
+        @ExceptionHandler(TooManyRequestsException.class)
+        public ResponseEntity<ApiError> handleTooManyRequests(
+                        TooManyRequestsException e,
+                        HttpServletRequest req) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                                .body(ApiError.of(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS",
+                                                e.getMessage(), req.getRequestURI()));
+        }
+
         @ExceptionHandler(IllegalStateException.class)
         public ResponseEntity<ApiError> handleIllegalState(
                         IllegalStateException e,
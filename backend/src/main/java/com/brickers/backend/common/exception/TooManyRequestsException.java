@@ -0,0 +1,16 @@
+package com.brickers.backend.common.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    /** 다음 요청이 허용되기까지 남은 시간 (Retry-After) */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
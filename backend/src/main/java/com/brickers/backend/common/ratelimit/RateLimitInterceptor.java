@@ -0,0 +1,126 @@
+package com.brickers.backend.common.ratelimit;
+
+import com.brickers.backend.common.exception.TooManyRequestsException;
+import com.brickers.backend.user.entity.MembershipPlan;
+import com.brickers.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🚦 RateLimitInterceptor
+ * @RateLimited 핸들러에 유저/엔드포인트 단위 token bucket 적용.
+ *
+ * - 키: route + userId (비로그인은 IP)
+ * - 한도는 멤버십 플랜별 (anonymous / free / pro)
+ * - 초과 시 TooManyRequestsException → 429 + Retry-After
+ * - 플랜은 요청마다 DB 조회하지 않도록 짧게 캐시 (업그레이드 반영은 최대 plan-cache-ttl 지연)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final long PLAN_CACHE_TTL_MS = 60_000L;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, CachedPlan> planCache = new ConcurrentHashMap<>();
+
+    private record CachedPlan(String plan, long cachedAt) {
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        String route = rateLimited.value();
+        RateLimitProperties.Route limits = properties.getRoutes().get(route);
+        if (limits == null) {
+            return true;
+        }
+
+        String userId = currentUserId();
+        String plan = userId == null ? ANONYMOUS : planOf(userId);
+        String key = route + ":" + (userId != null ? "u:" + userId : "ip:" + request.getRemoteAddr());
+
+        long retryAfterMs = rateLimiter.tryConsume(key, bucketOf(limits, plan));
+        if (retryAfterMs == 0L) {
+            counter("ratelimit.allowed", route, plan).increment();
+            return true;
+        }
+
+        counter("ratelimit.rejected", route, plan).increment();
+        long retryAfterSeconds = Math.max(1L, (retryAfterMs + 999L) / 1000L);
+        log.warn("⚠️ [RATE-LIMIT] 요청 한도 초과 | route={} | key={} | plan={} | retryAfter={}s",
+                route, key, plan, retryAfterSeconds);
+        throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds);
+    }
+
+    private String currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth.getPrincipal() == null) {
+            return null;
+        }
+        String principal = auth.getPrincipal().toString();
+        return "anonymousUser".equals(principal) ? null : principal;
+    }
+
+    private String planOf(String userId) {
+        long now = System.currentTimeMillis();
+        CachedPlan cached = planCache.get(userId);
+        if (cached != null && now - cached.cachedAt() < PLAN_CACHE_TTL_MS) {
+            return cached.plan();
+        }
+        String plan = userRepository.findById(userId)
+                .map(user -> user.getMembershipPlan() == MembershipPlan.PRO ? "pro" : "free")
+                .orElse("free");
+        planCache.put(userId, new CachedPlan(plan, now));
+        return plan;
+    }
+
+    private RateLimitProperties.Bucket bucketOf(RateLimitProperties.Route limits, String plan) {
+        return switch (plan) {
+            case "pro" -> limits.getPro();
+            case "free" -> limits.getFree();
+            default -> limits.getAnonymous();
+        };
+    }
+
+    private Counter counter(String name, String route, String plan) {
+        return Counter.builder(name)
+                .tag("route", route)
+                .tag("plan", plan)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 만료된 플랜 캐시 정리 (5분마다)
+     */
+    @Scheduled(fixedRate = 300000)
+    public void cleanupPlanCache() {
+        long threshold = System.currentTimeMillis() - PLAN_CACHE_TTL_MS;
+        planCache.entrySet().removeIf(e -> e.getValue().cachedAt() < threshold);
+    }
+}
@@ -0,0 +1,39 @@
+package com.brickers.backend.common.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * app.rate-limit 설정
+ *
+ * routes.{route}.{anonymous|free|pro} = 버킷 크기 + 분당 충전량
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Route> routes = new HashMap<>();
+
+    @Data
+    public static class Route {
+        /** 비로그인 (IP 기준) */
+        private Bucket anonymous = new Bucket();
+        private Bucket free = new Bucket();
+        private Bucket pro = new Bucket();
+    }
+
+    @Data
+    public static class Bucket {
+        /** 순간 허용량 (burst) */
+        private int capacity = 10;
+        /** 분당 충전 토큰 수 (지속 허용량) */
+        private double refillPerMinute = 10;
+    }
+}
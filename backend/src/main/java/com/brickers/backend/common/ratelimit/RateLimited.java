@@ -0,0 +1,17 @@
+package com.brickers.backend.common.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 요청 속도 제한 대상 핸들러 표시
+ * - value = app.rate-limit.routes 아래 설정 이름
+ * - 로그인 유저는 userId, 비로그인은 IP 기준으로 버킷을 나눔
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
@@ -0,0 +1,72 @@
+package com.brickers.backend.common.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🪣 TokenBucketRateLimiter
+ * 키별 token bucket (인스턴스 메모리).
+ *
+ * - 버킷 맵은 ConcurrentHashMap (bin 단위 분산), 버킷 상태는 불변 State + CAS로 갱신 → 락 없음
+ * - 충전은 요청 시점에 경과 시간만큼 계산 (별도 타이머 없음)
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 토큰 1개 소비 시도
+     *
+     * @return 0이면 허용, 양수면 다음 토큰까지 남은 시간(ms)
+     */
+    public long tryConsume(String key, RateLimitProperties.Bucket spec) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(spec.getCapacity()));
+        return bucket.tryConsume(spec.getCapacity(), spec.getRefillPerMinute() / TimeUnit.MINUTES.toNanos(1));
+    }
+
+    /**
+     * 오래 쓰이지 않은 버킷 정리 (5분마다) - 10분이면 어떤 설정이든 다시 가득 차 있음
+     */
+    @Scheduled(fixedRate = 300000)
+    public void evictIdleBuckets() {
+        long threshold = System.nanoTime() - IDLE_EVICT_NANOS;
+        buckets.entrySet().removeIf(e -> e.getValue().state.get().updatedAt() < threshold);
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+
+        private Bucket(int capacity) {
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        long tryConsume(int capacity, double tokensPerNano) {
+            while (true) {
+                State prev = state.get();
+                long now = System.nanoTime();
+                double tokens = Math.min(capacity, prev.tokens() + (now - prev.updatedAt()) * tokensPerNano);
+
+                if (tokens < 1.0) {
+                    if (tokensPerNano <= 0) {
+                        return TimeUnit.MINUTES.toMillis(1);
+                    }
+                    long waitNanos = (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+                    return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                }
+                if (state.compareAndSet(prev, new State(tokens - 1.0, now))) {
+                    return 0L;
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.brickers.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.concurrent.Executor;
 
@@ -11,13 +19,55 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * Kids 생성 파이프라인의 blocking 구간 전용 풀
+     * - 파이프라인 자체는 non-blocking, AI 응답 스트림 파싱/ldrData 업로드처럼 block 되는 구간만 여기서 실행
+     * - 스레드 수가 아니라 동시 실행 수로 제한 (JDK 21+ 런타임이면 virtual thread, 그 외에는 작업당 platform thread)
+     */
     @Bean(name = "kidsExecutor")
-    public Executor kidsExecutor() {
+    public Executor kidsExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.kids.executor.max-concurrent:500}") int maxConcurrent,
+            @Value("${app.kids.executor.queue-capacity:1000}") int queueCapacity) {
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("kids-async-");
+        threads.setVirtualThreads(Runtime.version().feature() >= 21);
+        return new ConcurrencyLimitedExecutor("kidsExecutor", threads, maxConcurrent, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * kidsExecutor를 Reactor 체인에서 쓰기 위한 Scheduler (subscribeOn / publishOn)
+     */
+    @Bean(name = "kidsScheduler", destroyMethod = "dispose")
+    public Scheduler kidsScheduler(@Qualifier("kidsExecutor") Executor kidsExecutor) {
+        return Schedulers.fromExecutor(kidsExecutor);
+    }
+
+    /**
+     * MVC 비동기 응답(StreamingResponseBody) 전용 - /api/generated 프록시 스트리밍
+     * - 연결마다 다운로드가 끝날 때까지 스레드 하나를 점유 → 동시 스트림 수로 제한
+     * - 한도 초과 시 TaskRejectedException (503)
+     */
+    @Bean(name = "streamingExecutor")
+    public AsyncTaskExecutor streamingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.generated-proxy.max-concurrent-streams:200}") int maxConcurrent,
+            @Value("${app.generated-proxy.stream-queue-capacity:100}") int queueCapacity) {
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("stream-proxy-");
+        threads.setVirtualThreads(Runtime.version().feature() >= 21);
+        return new TaskExecutorAdapter(
+                new ConcurrencyLimitedExecutor("streamingExecutor", threads, maxConcurrent, queueCapacity, meterRegistry));
+    }
+
+    /**
+     * SSE 전송 전용 풀
+     * - 구독자당 drain 작업은 최대 1개만 등록되므로 큐는 구독자 수를 넘지 않음
+     */
+    @Bean(name = "sseExecutor")
+    public Executor sseExecutor() {
         ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
         ex.setCorePoolSize(4);
-        ex.setMaxPoolSize(8);
-        ex.setQueueCapacity(200);
-        ex.setThreadNamePrefix("kids-async-");
+        ex.setMaxPoolSize(4);
+        ex.setThreadNamePrefix("sse-fanout-");
         ex.initialize();
         return ex;
     }
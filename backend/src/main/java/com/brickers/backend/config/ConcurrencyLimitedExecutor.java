@@ -0,0 +1,96 @@
+package com.brickers.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스레드 수 대신 동시 실행 수(semaphore)로 제한하는 Executor
+ *
+ * - 작업마다 스레드 하나 (JDK 21+면 virtual thread) → 오래 block 되는 I/O 대기에 적합
+ * - maxConcurrent 만큼만 동시에 실행, 초과분은 permit을 기다림 (최대 queueCapacity 건)
+ * - 실행 + 대기가 한도를 넘으면 TaskRejectedException
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore permits;
+    private final int admitLimit;
+
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Counter rejectedCounter;
+    private final Timer waitTimer;
+
+    public ConcurrencyLimitedExecutor(String name, Executor delegate, int maxConcurrent, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrent);
+        this.admitLimit = maxConcurrent + queueCapacity;
+
+        Gauge.builder("executor.limited.active", active, AtomicInteger::get)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.limited.waiting", waiting, AtomicInteger::get)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("executor.limited.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("executor.limited.wait")
+                .description("permit 대기 시간")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (admitted.incrementAndGet() > admitLimit) {
+            admitted.decrementAndGet();
+            rejectedCounter.increment();
+            throw new TaskRejectedException("동시 실행 한도 초과 (limit=" + admitLimit + ")");
+        }
+
+        try {
+            delegate.execute(() -> runWithPermit(task));
+        } catch (RuntimeException e) {
+            admitted.decrementAndGet();
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    private void runWithPermit(Runnable task) {
+        try {
+            waiting.incrementAndGet();
+            Timer.Sample sample = Timer.start();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                waiting.decrementAndGet();
+                sample.stop(waitTimer);
+            }
+
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                permits.release();
+            }
+        } finally {
+            admitted.decrementAndGet();
+        }
+    }
+}
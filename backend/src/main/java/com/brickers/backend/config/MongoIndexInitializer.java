@@ -1,23 +1,41 @@
 package com.brickers.backend.config;
 
+import com.brickers.backend.gallery.dto.GalleryCursor;
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
 import com.brickers.backend.gallery.entity.GalleryViewLogEntity;
+import com.brickers.backend.gallery.entity.Visibility;
+import com.brickers.backend.gallery.service.GalleryFeedService;
+import com.brickers.backend.gallery.service.GalleryHelper;
+import com.brickers.backend.job.entity.KidsLevel;
 import com.brickers.backend.user.entity.User;
 import com.brickers.backend.user.repository.UserRepository;
+import com.mongodb.ExplainVerbosity;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Slf4j
@@ -27,11 +45,22 @@ public class MongoIndexInitializer {
 
     private final MongoTemplate mongoTemplate;
     private final UserRepository userRepository;
+    private final GalleryHelper galleryHelper;
+    private final GalleryFeedService galleryFeedService;
+
+    /** 기동 시 갤러리 주요 쿼리의 실행 계획 점검 (COLLSCAN / 메모리 SORT 경고) */
+    @Value("${app.mongo.explain-check:true}")
+    private boolean explainCheck;
 
     @PostConstruct
     public void ensureIndexes() {
         ensureGalleryViewLogIndexes();
+        ensureGalleryPostIndexes();
         ensureUserIndexes();
+
+        if (explainCheck) {
+            checkGalleryQueryPlans();
+        }
     }
 
     private void ensureGalleryViewLogIndexes() {
@@ -51,6 +80,184 @@ public class MongoIndexInitializer {
         log.info("[MongoIndexInitializer] ensured indexes for GalleryViewLogEntity");
     }
 
+    /**
+     * 갤러리 게시글 인덱스
+     * - 공개 목록: (deleted=false, visibility=PUBLIC) partial + 정렬별 복합 인덱스 (+ level 접두)
+     * - 태그 목록: tags + createdAt 하나만 - tags는 배열(multikey)이라 게시글당 태그 수만큼 키가 생김
+     *   viewCount/likeCount가 들어간 인덱스는 조회/좋아요마다 키를 다시 써야 하므로 태그 수 배로 늘어남
+     *   → 인기순 태그 목록은 해당 태그 게시글만 메모리 정렬 (limit이 있어 top-k 정렬)
+     * - 내 게시글: authorId + 정렬별 (deleted=false partial, listMine은 모든 정렬 사용)
+     * - 정렬 키 뒤에 _id를 붙여 커서 피드(GalleryFeedService)의 tie-breaker까지 인덱스로 처리
+     * - viewCount가 들어간 인덱스는 6개(public / level / author × views, popular), 모두 single-key
+     *   → 조회수 증가 1건당 인덱스 키 갱신 6회로 고정 (GalleryViewService가 viewer당 24시간 1회로 제한)
+     */
+    private void ensureGalleryPostIndexes() {
+        IndexOperations ops = mongoTemplate.indexOps(GalleryPostEntity.class);
+        PartialIndexFilter publicOnly = PartialIndexFilter.of(
+                Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC.name()));
+        PartialIndexFilter notDeleted = PartialIndexFilter.of(Criteria.where("deleted").is(false));
+
+        dropRetiredIndexes(ops, Set.of("px_public_tags_views", "px_public_tags_likes", "px_public_tags_popular"));
+
+        for (String sort : GalleryHelper.SORTS) {
+            List<String> fields = galleryHelper.sortFields(sort);
+            ops.ensureIndex(sortIndex(new Index(), fields).partial(publicOnly).named("px_public_" + sort));
+            ops.ensureIndex(sortIndex(new Index().on("level", Sort.Direction.ASC), fields)
+                    .partial(publicOnly).named("px_public_level_" + sort));
+            ops.ensureIndex(sortIndex(new Index().on("authorId", Sort.Direction.ASC), fields)
+                    .partial(notDeleted).named("px_author_" + sort));
+        }
+
+        ops.ensureIndex(sortIndex(new Index().on("tags", Sort.Direction.ASC), galleryHelper.sortFields("latest"))
+                .partial(publicOnly).named("px_public_tags_latest"));
+
+        // 전문 검색 (GallerySearchService) - 토큰은 미리 분리해 저장하므로 언어 처리 없음
+        ops.ensureIndex(TextIndexDefinition.builder()
+                .onField("search.title", 10F)
+                .onField("search.tags", 5F)
+                .onField("search.author", 3F)
+                .onField("search.content", 1F)
+                .withDefaultLanguage("none")
+                .named("tx_search")
+                .build());
+
+        log.info("[MongoIndexInitializer] ensured indexes for GalleryPostEntity");
+    }
+
+    private void dropRetiredIndexes(IndexOperations ops, Set<String> names) {
+        for (IndexInfo info : ops.getIndexInfo()) {
+            if (names.contains(info.getName())) {
+                ops.dropIndex(info.getName());
+                log.info("[MongoIndexInitializer] dropped retired gallery index: {}", info.getName());
+            }
+        }
+    }
+
+    private Index sortIndex(Index index, List<String> sortFields) {
+        sortFields.forEach(field -> index.on(field, Sort.Direction.DESC));
+        return index.on("_id", Sort.Direction.DESC);
+    }
+
+    /**
+     * 갤러리 목록 쿼리 explain (queryPlanner - 실제 실행 없음)
+     * - GalleryPostRepository 파생 쿼리 / GalleryFeedService 쿼리와 같은 조건 + 호출부가 쓰는 정렬 그대로
+     * - Spring Data와 같은 QueryMapper로 변환 (enum / 필드명 매핑 동일)
+     * - 인덱스를 못 타거나(COLLSCAN) 메모리 정렬(SORT)이면 경고만 남김 (의도한 메모리 정렬은 제외)
+     */
+    private void checkGalleryQueryPlans() {
+        List<String> warnings = new ArrayList<>();
+        try {
+            for (Map.Entry<String, PlanCheck> e : galleryQueries().entrySet()) {
+                explain(e.getKey(), e.getValue(), warnings);
+            }
+        } catch (Exception e) {
+            log.warn("[MongoIndexInitializer] gallery explain check skipped: {}", e.getMessage());
+            return;
+        }
+
+        if (warnings.isEmpty()) {
+            log.info("[MongoIndexInitializer] gallery query plans OK");
+        } else {
+            warnings.forEach(w -> log.warn("⚠️ [MongoIndexInitializer] gallery query plan | {}", w));
+        }
+    }
+
+    /** explain 대상 쿼리 + 메모리 정렬 허용 여부 */
+    private record PlanCheck(Query query, boolean sortAllowed) {
+    }
+
+    private Map<String, PlanCheck> galleryQueries() {
+        Map<String, PlanCheck> checks = new LinkedHashMap<>();
+
+        for (String sort : GalleryHelper.SORTS) {
+            Sort pageSort = galleryHelper.createPageRequest(0, 12, sort).getSort();
+            GalleryCursor cursor = sampleCursor(sort);
+            boolean tagSortInMemory = !"latest".equals(sort);
+
+            // GalleryService.listPublic / searchPublic(tag) / listMine, UserService
+            checks.put("findByDeletedFalseAndVisibility/" + sort, new PlanCheck(
+                    query(Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC), pageSort),
+                    false));
+            checks.put("findByDeletedFalseAndVisibilityAndLevel/" + sort, new PlanCheck(
+                    query(Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC)
+                            .and("level").is(KidsLevel.LEVEL_1), pageSort),
+                    false));
+            checks.put("findByDeletedFalseAndVisibilityAndTagsContaining/" + sort, new PlanCheck(
+                    query(Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC)
+                            .and("tags").in("explain-check"), pageSort),
+                    tagSortInMemory));
+            checks.put("findByDeletedFalseAndAuthorId/" + sort, new PlanCheck(
+                    query(Criteria.where("deleted").is(false).and("authorId").is("explain-check"), pageSort),
+                    false));
+
+            // GalleryFeedService.feed (정렬 키 + _id) - 첫 페이지 / cursor 이후 페이지(keyset $or 범위 조건)
+            checks.put("feed/" + sort, new PlanCheck(
+                    galleryFeedService.feedQuery(sort, null, null, null, 12), false));
+            checks.put("feed+level/" + sort, new PlanCheck(
+                    galleryFeedService.feedQuery(sort, KidsLevel.LEVEL_1, null, null, 12), false));
+            checks.put("feed+tag/" + sort, new PlanCheck(
+                    galleryFeedService.feedQuery(sort, null, "explain-check", null, 12), tagSortInMemory));
+            checks.put("feed+cursor/" + sort, new PlanCheck(
+                    galleryFeedService.feedQuery(sort, null, null, cursor, 12), false));
+            checks.put("feed+level+cursor/" + sort, new PlanCheck(
+                    galleryFeedService.feedQuery(sort, KidsLevel.LEVEL_1, null, cursor, 12), false));
+        }
+
+        // UserService.getActivitySummary (정렬 없음)
+        checks.put("findByDeletedFalseAndAuthorId/unsorted", new PlanCheck(
+                query(Criteria.where("deleted").is(false).and("authorId").is("explain-check"), Sort.unsorted()), true));
+        return checks;
+    }
+
+    /** 정렬 필드별 예시 값으로 만든 cursor (feed 다음 페이지 쿼리 모양 점검용) */
+    private GalleryCursor sampleCursor(String sort) {
+        List<String> values = galleryHelper.sortFields(sort).stream()
+                .map(field -> "createdAt".equals(field) ? LocalDateTime.now().toString() : "0")
+                .toList();
+        return new GalleryCursor(galleryHelper.normalizeSort(sort), values, new ObjectId().toHexString());
+    }
+
+    private Query query(Criteria criteria, Sort sort) {
+        return new Query(criteria).with(sort).limit(12);
+    }
+
+    private void explain(String name, PlanCheck check, List<String> warnings) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(GalleryPostEntity.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Query query = check.query();
+
+        Document plan = mongoTemplate.getCollection(mongoTemplate.getCollectionName(GalleryPostEntity.class))
+                .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                .limit(query.getLimit())
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+
+        Object winningPlan = plan.get("queryPlanner", Document.class).get("winningPlan");
+        Set<String> stages = new HashSet<>();
+        collectStages(winningPlan, stages);
+
+        if (stages.contains("COLLSCAN")) {
+            warnings.add(name + " -> COLLSCAN");
+        }
+        if (stages.contains("SORT") && !check.sortAllowed()) {
+            warnings.add(name + " -> in-memory SORT");
+        }
+    }
+
+    /** winningPlan 트리(inputStage / inputStages / queryPlan)의 stage 이름 수집 */
+    private void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document doc) {
+            Object stage = doc.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            doc.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
     private void ensureUserIndexes() {
         IndexOperations ops = mongoTemplate.indexOps(User.class);
 
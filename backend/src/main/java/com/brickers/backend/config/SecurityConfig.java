@@ -129,6 +129,7 @@ public class SecurityConfig {
 
                                                 // ✅ 공개 갤러리 조회/검색/상세/댓글은 공개
                                                 .requestMatchers(HttpMethod.GET, "/api/gallery", "/api/gallery/search",
+                                                                "/api/gallery/search/tags",
                                                                 "/api/gallery/*", "/api/gallery/*/comments")
                                                 .permitAll()
 
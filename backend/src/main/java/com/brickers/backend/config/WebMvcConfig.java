@@ -1,7 +1,9 @@
 package com.brickers.backend.config;
 
+import com.brickers.backend.common.ratelimit.RateLimitInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -10,12 +12,18 @@ import java.nio.file.Paths;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Value("${app.upload.root-dir:./uploads}")
     private String uploadDir;
 
     @Value("${app.upload.provider:LOCAL}")
     private String uploadProvider;
 
+    public WebMvcConfig(RateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 1. 로컬 업로드 서빙 (LOCAL 모드일 때만)
@@ -28,4 +36,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                     .setCachePeriod(3600);
         }
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 생성/AI 프록시 엔드포인트 요청 한도 (@RateLimited 핸들러만 적용)
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    }
 }
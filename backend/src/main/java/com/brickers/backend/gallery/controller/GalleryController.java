@@ -23,6 +23,8 @@ import java.util.Map;
 public class GalleryController {
 
     private final GalleryService galleryService;
+    private final GalleryFeedService galleryFeedService;
+    private final GallerySearchService gallerySearchService;
     private final GalleryReactionService galleryReactionService;
     private final GalleryViewService galleryViewService;
     private final InternalAuthService authService;
@@ -50,6 +52,23 @@ public class GalleryController {
         return galleryService.listPublic(page, size, sort, level, authOrNull);
     }
 
+    /**
+     * 공개 게시글 피드 (커서 기반 무한 스크롤)
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor를 그대로 전달
+     * - withTotal=true면 전체 개수도 함께 (count 쿼리 1회)
+     */
+    @GetMapping("/feed")
+    public GalleryFeedResponse feed(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "12") int size,
+            @RequestParam(name = "sort", defaultValue = "latest") String sort,
+            @RequestParam(name = "level", required = false) String level,
+            @RequestParam(name = "tag", required = false) String tag,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal,
+            Authentication authOrNull) {
+        return galleryFeedService.feed(sort, level, tag, cursor, size, withTotal, authOrNull);
+    }
+
     /** 🔍 공개 게시글 검색 */
     @GetMapping("/search")
     public Page<GalleryResponse> search(
@@ -62,6 +81,14 @@ public class GalleryController {
         return galleryService.searchPublic(q, tag, page, size, sort, authOrNull);
     }
 
+    /** 🔍 검색 결과 태그 집계 (태그 필터 칩용) */
+    @GetMapping("/search/tags")
+    public List<TagFacetResponse> searchTags(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return gallerySearchService.tagFacets(q, limit);
+    }
+
     /**
      * 게시글 상세 (PUBLIC은 누구나 / PRIVATE은 작성자만)
      * ✅ 조회수 정책(현재 구현은 세션 기반 24h 1회)
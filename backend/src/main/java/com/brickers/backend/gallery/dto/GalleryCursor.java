@@ -0,0 +1,45 @@
+package com.brickers.backend.gallery.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 갤러리 피드 커서 (마지막으로 받은 게시글의 정렬 키 + _id)
+ *
+ * - values: 정렬 필드 순서대로의 값 (예: popular → likeCount, viewCount, createdAt)
+ * - 클라이언트에는 불투명 문자열(base64url)로만 노출
+ * - 다른 정렬로 만든 커서는 사용할 수 없음
+ */
+public record GalleryCursor(String sort, List<String> values, String id) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "\u0000";
+
+    public String encode() {
+        List<String> parts = new ArrayList<>();
+        parts.add(sort);
+        values.forEach(v -> parts.add(v == null ? NULL_VALUE : v));
+        parts.add(id);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GalleryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> parts = Arrays.asList(raw.split(SEPARATOR, -1));
+            if (parts.size() < 3) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다.");
+            }
+            List<String> values = parts.subList(1, parts.size() - 1).stream()
+                    .map(v -> NULL_VALUE.equals(v) ? null : v)
+                    .toList();
+            return new GalleryCursor(parts.get(0), values, parts.get(parts.size() - 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
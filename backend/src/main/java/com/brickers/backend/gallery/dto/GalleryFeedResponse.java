@@ -0,0 +1,20 @@
+package com.brickers.backend.gallery.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 커서 기반 갤러리 피드 응답
+ * - nextCursor: 다음 요청에 그대로 전달 (hasNext=false면 null)
+ * - totalElements: withTotal=true로 요청했을 때만 채움 (count 쿼리 생략용)
+ */
+@Data
+@Builder
+public class GalleryFeedResponse {
+    private List<GalleryResponse> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
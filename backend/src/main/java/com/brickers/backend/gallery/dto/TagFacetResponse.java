@@ -0,0 +1,16 @@
+package com.brickers.backend.gallery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검색 결과 태그 집계 (태그별 게시글 수)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFacetResponse {
+    private String tag;
+    private long count;
+}
@@ -80,4 +80,7 @@ public class GalleryPostEntity {
 
     @Builder.Default
     private long commentCount = 0;
+
+    /** 검색 토큰 (저장 시 자동 계산, text index "tx_search") */
+    private GallerySearchFields search;
 }
@@ -0,0 +1,25 @@
+package com.brickers.backend.gallery.entity;
+
+import lombok.*;
+
+/**
+ * 게시글 검색용 토큰 (text index 대상)
+ *
+ * - 각 필드는 GallerySearchTokenizer 결과를 공백으로 이은 문자열 (한글은 2-gram + 1-gram, 그 외는 단어)
+ * - 저장 시 GalleryPostSearchListener가 title/content/tags/authorNickname으로부터 다시 계산
+ * - API 응답에는 노출하지 않음
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GallerySearchFields {
+
+    private String title;
+    private String content;
+    private String tags;
+    private String author;
+
+    /** 토큰 규칙 버전 (GallerySearchTokenizer.VERSION) - 다르면 백필 대상 */
+    private Integer version;
+}
@@ -0,0 +1,26 @@
+package com.brickers.backend.gallery.event;
+
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.gallery.service.GallerySearchTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * GalleryPostEntity 저장 직전 검색 토큰(search) 갱신
+ * - 생성/수정/닉네임 동기화 등 save 하는 모든 경로를 한 곳에서 처리
+ * - 카운터($inc) 같은 MongoTemplate update 계열은 텍스트가 바뀌지 않으므로 대상 아님
+ */
+@Component
+@RequiredArgsConstructor
+public class GalleryPostSearchListener extends AbstractMongoEventListener<GalleryPostEntity> {
+
+    private final GallerySearchTokenizer tokenizer;
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<GalleryPostEntity> event) {
+        GalleryPostEntity post = event.getSource();
+        post.setSearch(tokenizer.fieldsOf(post));
+    }
+}
@@ -3,15 +3,22 @@ package com.brickers.backend.gallery.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import com.brickers.backend.gallery.entity.GalleryBookmarkEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface GalleryBookmarkRepository extends MongoRepository<GalleryBookmarkEntity, String> {
 
     Optional<GalleryBookmarkEntity> findByUserIdAndPostId(String userId, String postId);
 
+    /** ✅ 한 페이지 분량 게시글의 북마크 여부를 한 번에 조회 (postId만 로드) */
+    @Query(fields = "{ 'postId': 1 }")
+    List<GalleryBookmarkEntity> findByUserIdAndPostIdIn(String userId, Collection<String> postIds);
+
     Page<GalleryBookmarkEntity> findByUserId(String userId, Pageable pageable);
 
     void deleteByUserIdAndPostId(String userId, String postId);
@@ -1,13 +1,20 @@
 package com.brickers.backend.gallery.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import com.brickers.backend.gallery.entity.GalleryReactionEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface GalleryReactionRepository extends MongoRepository<GalleryReactionEntity, String> {
     Optional<GalleryReactionEntity> findByUserIdAndPostId(String userId, String postId);
 
+    /** ✅ 한 페이지 분량 게시글의 내 리액션을 한 번에 조회 (postId, type만 로드) */
+    @Query(fields = "{ 'postId': 1, 'type': 1 }")
+    List<GalleryReactionEntity> findByUserIdAndPostIdIn(String userId, Collection<String> postIds);
+
     void deleteByUserIdAndPostId(String userId, String postId);
 }
@@ -0,0 +1,158 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.dto.GalleryCursor;
+import com.brickers.backend.gallery.dto.GalleryFeedResponse;
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.gallery.entity.Visibility;
+import com.brickers.backend.job.entity.KidsLevel;
+import com.brickers.backend.user.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📜 GalleryFeedService
+ * 공개 갤러리 피드를 커서(keyset) 방식으로 제공합니다. (무한 스크롤용)
+ *
+ * - 정렬 키(GalleryHelper.sortFields) + _id 기준 범위 조건 → skip 없이 인덱스에서 바로 이어 읽음
+ * - 깊이 내려가도 페이지당 비용이 일정 (offset Page는 page*size 만큼 건너뜀)
+ * - count 쿼리는 withTotal=true일 때만 (보통 첫 요청에서 한 번)
+ */
+@Service
+@RequiredArgsConstructor
+public class GalleryFeedService {
+
+    private static final int MAX_SIZE = 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final CurrentUserService currentUserService;
+    private final GalleryHelper galleryHelper;
+    private final GalleryMapper galleryMapper;
+
+    /**
+     * 공개 피드 조회 (level / tag 필터 선택)
+     */
+    public GalleryFeedResponse feed(String sort, String level, String tag, String cursor, int size,
+            boolean withTotal, Authentication authOrNull) {
+        String sortName = galleryHelper.normalizeSort(sort);
+        List<String> fields = galleryHelper.sortFields(sortName);
+        int limit = Math.min(Math.max(size, 1), MAX_SIZE);
+
+        KidsLevel kidsLevel = galleryHelper.parseLevel(level);
+        Criteria filter = publicFilter(kidsLevel, tag);
+        GalleryCursor after = (cursor != null && !cursor.isBlank()) ? GalleryCursor.decode(cursor) : null;
+
+        Query query = feedQuery(sortName, kidsLevel, tag, after, limit + 1);
+        List<GalleryPostEntity> posts = mongoTemplate.find(query, GalleryPostEntity.class);
+        boolean hasNext = posts.size() > limit;
+        if (hasNext) {
+            posts = posts.subList(0, limit);
+        }
+
+        String nextCursor = hasNext ? cursorOf(posts.get(posts.size() - 1), sortName, fields).encode() : null;
+        Long total = withTotal ? mongoTemplate.count(new Query(filter), GalleryPostEntity.class) : null;
+
+        String userId = currentUserService.getUserIdOrNull(authOrNull);
+        return GalleryFeedResponse.builder()
+                .items(galleryMapper.toResponses(posts, userId))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(total)
+                .build();
+    }
+
+    /**
+     * 피드 한 페이지 쿼리 (cursor가 있으면 keyset 범위 조건 추가)
+     * - MongoIndexInitializer 실행 계획 점검도 이 쿼리를 그대로 explain
+     */
+    public Query feedQuery(String sort, KidsLevel level, String tag, GalleryCursor cursor, int limit) {
+        String sortName = galleryHelper.normalizeSort(sort);
+        List<String> fields = galleryHelper.sortFields(sortName);
+
+        Criteria filter = publicFilter(level, tag);
+        Query query = cursor == null
+                ? new Query(filter)
+                : new Query(new Criteria().andOperator(filter, after(cursor, sortName, fields)));
+        query.with(Sort.by(Sort.Direction.DESC, fields.toArray(String[]::new))
+                .and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(limit);
+        query.fields().exclude("search");
+        return query;
+    }
+
+    private Criteria publicFilter(KidsLevel level, String tag) {
+        Criteria c = Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC);
+        if (level != null) {
+            c = c.and("level").is(level);
+        }
+        if (tag != null && !tag.isBlank()) {
+            c = c.and("tags").is(tag.trim());
+        }
+        return c;
+    }
+
+    /**
+     * 커서 이후 조건 (모든 키 DESC)
+     * (k1 < v1) OR (k1 = v1 AND k2 < v2) OR ... OR (k1..kn = v1..vn AND _id < id)
+     */
+    private Criteria after(GalleryCursor cursor, String sortName, List<String> fields) {
+        if (!sortName.equals(cursor.sort()) || cursor.values().size() != fields.size()) {
+            throw new IllegalArgumentException("정렬 조건과 맞지 않는 cursor 입니다.");
+        }
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.add(parseValue(fields.get(i), cursor.values().get(i)));
+        }
+
+        List<Criteria> branches = new ArrayList<>();
+        for (int i = 0; i <= fields.size(); i++) {
+            List<Criteria> terms = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add(Criteria.where(fields.get(j)).is(values.get(j)));
+            }
+            if (i < fields.size()) {
+                if (values.get(i) == null) {
+                    continue; // null은 DESC 정렬의 맨 끝 → 더 작은 값 없음
+                }
+                terms.add(Criteria.where(fields.get(i)).lt(values.get(i)));
+            } else {
+                terms.add(Criteria.where("id").lt(cursor.id()));
+            }
+            branches.add(new Criteria().andOperator(terms));
+        }
+        return new Criteria().orOperator(branches);
+    }
+
+    private GalleryCursor cursorOf(GalleryPostEntity post, String sortName, List<String> fields) {
+        List<String> values = fields.stream()
+                .map(field -> switch (field) {
+                    case "viewCount" -> String.valueOf(post.getViewCount());
+                    case "likeCount" -> String.valueOf(post.getLikeCount());
+                    case "createdAt" -> post.getCreatedAt() == null ? null : post.getCreatedAt().toString();
+                    default -> throw new IllegalStateException("지원하지 않는 정렬 필드: " + field);
+                })
+                .toList();
+        return new GalleryCursor(sortName, values, post.getId());
+    }
+
+    private Object parseValue(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return "createdAt".equals(field) ? LocalDateTime.parse(value) : Long.parseLong(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * 🛠️ GalleryHelper
  * 
@@ -13,17 +15,36 @@ import org.springframework.stereotype.Component;
 @Component
 public class GalleryHelper {
 
+    /** 지원하는 정렬 이름 (인덱스 생성 / 실행 계획 점검도 이 목록 기준) */
+    public static final List<String> SORTS = List.of("latest", "views", "likes", "popular");
+
     /**
      * 정렬 조건을 포함한 PageRequest를 생성합니다.
      */
     public PageRequest createPageRequest(int page, int size, String sort) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortFields(sort).toArray(String[]::new)));
+    }
+
+    /**
+     * 정렬 이름(latest / views / likes / popular)을 정규화합니다. 모르는 값은 latest.
+     */
+    public String normalizeSort(String sort) {
         String s = (sort == null) ? "latest" : sort.trim().toLowerCase();
         return switch (s) {
-            case "views" -> PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "viewCount", "createdAt"));
-            case "likes" -> PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "likeCount", "createdAt"));
-            case "popular" ->
-                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "likeCount", "viewCount", "createdAt"));
-            default -> PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+            case "views", "likes", "popular" -> s;
+            default -> "latest";
+        };
+    }
+
+    /**
+     * 정렬 이름별 정렬 필드 (모두 DESC, 마지막은 항상 createdAt)
+     */
+    public List<String> sortFields(String sort) {
+        return switch (normalizeSort(sort)) {
+            case "views" -> List.of("viewCount", "createdAt");
+            case "likes" -> List.of("likeCount", "createdAt");
+            case "popular" -> List.of("likeCount", "viewCount", "createdAt");
+            default -> List.of("createdAt");
         };
     }
 
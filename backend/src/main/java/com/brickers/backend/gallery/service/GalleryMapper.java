@@ -8,20 +8,38 @@ import com.brickers.backend.gallery.entity.Visibility;
 import com.brickers.backend.gallery.repository.GalleryBookmarkRepository;
 import com.brickers.backend.gallery.repository.GalleryReactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * 🗺️ GalleryMapper
  * 
  * GalleryPostEntity를 GalleryResponse DTO로 변환하는 로직을 전담합니다.
  * 북마크 상태 및 사용자의 리액션 정보 조회를 포함합니다.
+ *
+ * - 목록은 toResponses / toResponsePage 로 변환 → 페이지당 북마크 1회 + 리액션 1회 ($in) 조회
+ * - 조회한 viewer 상태는 현재 HTTP 요청 동안 메모 → 같은 요청에서 같은 글을 다시 변환해도 재조회 없음
  */
 @Component
 @RequiredArgsConstructor
 public class GalleryMapper {
 
+    /** 요청 단위 viewer 상태 메모 (request attribute 키) */
+    private static final String VIEWER_STATE_ATTR = GalleryMapper.class.getName() + ".viewerState";
+
+    /** 로그인 사용자 기준 게시글 상태 (북마크 여부, 내 리액션) */
+    private record ViewerState(boolean bookmarked, String myReaction) {
+    }
+
     private final GalleryBookmarkRepository galleryBookmarkRepository;
     private final GalleryReactionRepository galleryReactionRepository;
     private final GalleryLevelResolver levelResolver;
@@ -85,14 +103,81 @@ public class GalleryMapper {
      * Entity를 Response DTO로 변환합니다.
      */
     public GalleryResponse toResponse(GalleryPostEntity post, String userId) {
-        Boolean bookmarked = null;
-        String myReaction = null;
+        Map<String, ViewerState> states = resolveViewerStates(List.of(post), userId);
+        return toResponse(post, states.get(post.getId()));
+    }
+
+    /**
+     * 여러 Entity를 한 번에 변환합니다. (viewer 상태는 $in 조회 2회로 일괄 해석)
+     */
+    public List<GalleryResponse> toResponses(List<GalleryPostEntity> posts, String userId) {
+        Map<String, ViewerState> states = resolveViewerStates(posts, userId);
+        return posts.stream()
+                .map(post -> toResponse(post, states.get(post.getId())))
+                .toList();
+    }
+
+    /**
+     * 페이지 단위 변환 (Page.map 대신 사용 - 행마다 조회하지 않음)
+     */
+    public Page<GalleryResponse> toResponsePage(Page<GalleryPostEntity> page, String userId) {
+        return new PageImpl<>(toResponses(page.getContent(), userId), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * 게시글별 viewer 상태 해석
+     * - 비로그인: 빈 Map (bookmarked/myReaction 모두 null)
+     * - 요청 메모에 없는 postId만 북마크/리액션 각각 $in 1회로 조회
+     */
+    private Map<String, ViewerState> resolveViewerStates(List<GalleryPostEntity> posts, String userId) {
+        if (userId == null || posts.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, ViewerState> memo = requestMemo(userId);
+        List<String> missing = posts.stream()
+                .map(GalleryPostEntity::getId)
+                .filter(Objects::nonNull)
+                .filter(id -> !memo.containsKey(id))
+                .distinct()
+                .toList();
 
-        if (userId != null) {
-            bookmarked = galleryBookmarkRepository.findByUserIdAndPostId(userId, post.getId()).isPresent();
-            myReaction = galleryReactionRepository.findByUserIdAndPostId(userId, post.getId())
-                    .map(r -> r.getType().name()).orElse(null);
+        if (!missing.isEmpty()) {
+            Map<String, String> reactions = new HashMap<>();
+            galleryReactionRepository.findByUserIdAndPostIdIn(userId, missing)
+                    .forEach(r -> reactions.put(r.getPostId(), r.getType().name()));
+            Map<String, Boolean> bookmarked = new HashMap<>();
+            galleryBookmarkRepository.findByUserIdAndPostIdIn(userId, missing)
+                    .forEach(b -> bookmarked.put(b.getPostId(), Boolean.TRUE));
+
+            missing.forEach(id -> memo.put(id,
+                    new ViewerState(bookmarked.containsKey(id), reactions.get(id))));
         }
+        return memo;
+    }
+
+    /**
+     * 현재 요청에 묶인 메모 (요청 밖 - 스케줄러 등 - 에서는 매번 새 Map)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, ViewerState> requestMemo(String userId) {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            return new HashMap<>();
+        }
+        String key = VIEWER_STATE_ATTR + ":" + userId;
+        Map<String, ViewerState> memo = (Map<String, ViewerState>) attrs.getAttribute(key,
+                RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attrs.setAttribute(key, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private GalleryResponse toResponse(GalleryPostEntity post, ViewerState state) {
+        Boolean bookmarked = state == null ? null : state.bookmarked();
+        String myReaction = state == null ? null : state.myReaction();
 
         return GalleryResponse.builder()
                 .id(post.getId())
@@ -0,0 +1,116 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.job.entity.KidsLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 🗃️ GalleryPageCache
+ * 공개 갤러리 목록의 앞쪽 페이지(viewer와 무관한 게시글 + 전체 개수)를 인스턴스 메모리에 캐시합니다.
+ *
+ * - 키: sort / level / page / size → 비로그인 방문자는 Mongo 조회(목록 + count) 없이 응답
+ * - 크기 상한(LRU) + TTL 만료 → 좋아요/조회수 변화는 최대 ttl 만큼 늦게 반영
+ * - 게시글 생성/수정/삭제/숨김 시 invalidateAll → 목록 구성이 바뀌면 즉시 반영
+ * - 북마크/내 리액션은 캐시하지 않음 (GalleryMapper가 요청마다 덧씌움)
+ */
+@Slf4j
+@Component
+public class GalleryPageCache {
+
+    private record Key(String sort, KidsLevel level, int page, int size) {
+    }
+
+    private record Entry(List<GalleryPostEntity> content, long total, long cachedAt) {
+    }
+
+    private final boolean enabled;
+    private final int maxPages;
+    private final long ttlMs;
+
+    /** access-order LinkedHashMap = LRU (접근/갱신 모두 lock 안에서) */
+    private final Map<Key, Entry> entries;
+
+    /** 무효화 세대 - 조회 도중 무효화되면 그 결과는 캐시에 넣지 않음 */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public GalleryPageCache(
+            MeterRegistry meterRegistry,
+            @Value("${gallery.page-cache.enabled:true}") boolean enabled,
+            @Value("${gallery.page-cache.max-entries:200}") int maxEntries,
+            @Value("${gallery.page-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${gallery.page-cache.max-pages:3}") int maxPages) {
+        this.enabled = enabled;
+        this.maxPages = maxPages;
+        this.ttlMs = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hitCounter = meterRegistry.counter("gallery.pagecache.hit");
+        this.missCounter = meterRegistry.counter("gallery.pagecache.miss");
+    }
+
+    /**
+     * 캐시된 페이지 반환, 없거나 만료되었으면 loader로 조회 후 저장
+     * - max-pages 이후 페이지는 캐시하지 않고 바로 조회
+     */
+    public Page<GalleryPostEntity> getOrLoad(Pageable pageable, KidsLevel level,
+            Supplier<Page<GalleryPostEntity>> loader) {
+        if (!enabled || pageable.getPageNumber() >= maxPages) {
+            return loader.get();
+        }
+
+        Key key = new Key(pageable.getSort().toString(), level, pageable.getPageNumber(), pageable.getPageSize());
+        long now = System.currentTimeMillis();
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && now - cached.cachedAt() < ttlMs) {
+            hitCounter.increment();
+            return new PageImpl<>(cached.content(), pageable, cached.total());
+        }
+
+        missCounter.increment();
+        long gen = generation.get();
+        Page<GalleryPostEntity> loaded = loader.get();
+        Entry entry = new Entry(List.copyOf(loaded.getContent()), loaded.getTotalElements(), now);
+
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                entries.put(key, entry);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 전체 무효화 (어떤 글이 어느 페이지/정렬에 걸리는지 추적하지 않음 - 쓰기 빈도가 낮음)
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        log.debug("[GalleryPageCache] invalidated");
+    }
+}
@@ -11,22 +11,26 @@ import java.util.Map;
 /**
  * Next.js Gallery App의 ISR 캐시를 즉시 갱신하는 서비스.
  * 게시글 생성/수정/삭제 시 호출하여 SEO 페이지를 즉시 업데이트한다.
+ * 백엔드 공개 목록 캐시(GalleryPageCache)도 같은 시점에 무효화한다.
  */
 @Slf4j
 @Service
 public class GalleryRevalidateService {
 
     private final WebClient webClient;
+    private final GalleryPageCache pageCache;
     private final String revalidateUrl;
     private final String revalidateSecret;
     private final boolean enabled;
 
     public GalleryRevalidateService(
             WebClient.Builder webClientBuilder,
+            GalleryPageCache pageCache,
             @Value("${gallery.revalidate.url:}") String revalidateUrl,
             @Value("${gallery.revalidate.secret:}") String revalidateSecret,
             @Value("${gallery.revalidate.enabled:false}") boolean enabled) {
         this.webClient = webClientBuilder.build();
+        this.pageCache = pageCache;
         this.revalidateUrl = revalidateUrl;
         this.revalidateSecret = revalidateSecret;
         this.enabled = enabled;
@@ -61,6 +65,8 @@ public class GalleryRevalidateService {
     }
 
     private void revalidate(String type, String postId, String title) {
+        pageCache.invalidateAll();
+
         if (!enabled || revalidateUrl == null || revalidateUrl.isBlank()) {
             log.debug("[Revalidate] Disabled or URL not configured. type={}, postId={}", type, postId);
             return;
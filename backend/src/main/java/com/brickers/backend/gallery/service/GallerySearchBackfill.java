@@ -0,0 +1,112 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.job.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 🔤 GallerySearchBackfill
+ * 검색 토큰(search)이 없거나 토큰 규칙 버전이 예전인 게시글 채우기 (이후에는 저장 시 GalleryPostSearchListener가 갱신)
+ *
+ * - 기동을 막지 않도록 스케줄러에서 조금씩 (1회 실행당 max-batches-per-run 배치)
+ * - 리스를 가진 인스턴스 하나만 수행, 배치마다 리스 연장 → 죽으면 다른 인스턴스가 이어받음
+ * - 토큰 계산에 필요한 필드만 읽고 BulkOperations로 search만 $set (카운터 $inc와 겹치지 않음)
+ * - 남은 게시글이 없으면 이 인스턴스에서는 더 이상 조회하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GallerySearchBackfill {
+
+    private static final String LEASE_NAME = "gallery-search-backfill";
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final GallerySearchTokenizer tokenizer;
+
+    @Value("${gallery.search-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${gallery.search-backfill.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${gallery.search-backfill.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private volatile boolean done = false;
+
+    /** 이어서 읽을 위치 (_id 오름차순, 채운 게시글을 다시 훑지 않도록) */
+    private String lastId;
+
+    private long filled;
+
+    @Scheduled(fixedDelayString = "${gallery.search-backfill.interval-ms:5000}",
+            initialDelayString = "${gallery.search-backfill.initial-delay-ms:30000}")
+    public void run() {
+        if (done) {
+            return;
+        }
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+                return;
+            }
+            if (!backfillBatch()) {
+                done = true;
+                if (filled > 0) {
+                    log.info("✅ [GallerySearchBackfill] 검색 토큰 채우기 완료 | count={}", filled);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 채울 게시글이 더 있을 수 있으면 true
+     */
+    private boolean backfillBatch() {
+        Criteria outdated = outdated();
+        if (lastId != null) {
+            outdated = outdated.and("_id").gt(lastId);
+        }
+        Query query = new Query(outdated)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("_id", "title", "content", "tags", "authorNickname");
+
+        List<GalleryPostEntity> batch = mongoTemplate.find(query, GalleryPostEntity.class);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GalleryPostEntity.class);
+        for (GalleryPostEntity post : batch) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(post.getId())
+                            .and("search.version").ne(GallerySearchTokenizer.VERSION)),
+                    Update.update("search", tokenizer.fieldsOf(post)));
+        }
+        bulk.execute();
+
+        lastId = batch.get(batch.size() - 1).getId();
+        filled += batch.size();
+        log.info("[GallerySearchBackfill] 검색 토큰 채움 | batch={} | total={}", batch.size(), filled);
+        return batch.size() == batchSize;
+    }
+
+    /** search가 없거나 (version도 없음) 이전 규칙으로 계산된 게시글 */
+    private Criteria outdated() {
+        return Criteria.where("search.version").ne(GallerySearchTokenizer.VERSION);
+    }
+}
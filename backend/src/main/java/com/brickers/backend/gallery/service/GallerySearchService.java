@@ -0,0 +1,105 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.dto.TagFacetResponse;
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.gallery.entity.Visibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 🔍 GallerySearchService
+ * 게시글 전문 검색 (Mongo text index "tx_search" 기반)
+ *
+ * - 검색어는 GallerySearchTokenizer로 토큰화 → 각 토큰을 구문("...")으로 넣어 모두 포함(AND)
+ * - 정렬: 관련도(textScore, 제목 > 태그 > 작성자 > 본문 가중치) 우선, 같으면 요청한 정렬
+ * - $regex 전체 스캔 대신 인덱스 조회 / 사용자 입력은 쿼리 문법으로 해석되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class GallerySearchService {
+
+    private final MongoTemplate mongoTemplate;
+    private final GallerySearchTokenizer tokenizer;
+
+    /**
+     * 공개 게시글 검색
+     */
+    public Page<GalleryPostEntity> searchPublic(String q, Pageable pageable) {
+        return search(q, Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC), pageable);
+    }
+
+    /**
+     * 관리자 검색 (제목/작성자/본문, visibility null이면 전체)
+     */
+    public Page<GalleryPostEntity> searchAdmin(String keyword, Visibility visibility, boolean deleted,
+            Pageable pageable) {
+        Criteria filter = Criteria.where("deleted").is(deleted);
+        if (visibility != null) {
+            filter = filter.and("visibility").is(visibility);
+        }
+        return search(keyword, filter, pageable);
+    }
+
+    /**
+     * 공개 검색 결과의 태그별 게시글 수 (많은 순)
+     */
+    public List<TagFacetResponse> tagFacets(String q, int limit) {
+        TextCriteria text = textCriteria(q);
+        if (text == null) {
+            return List.of();
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(text), // $text는 첫 단계여야 함
+                Aggregation.match(Criteria.where("deleted").is(false).and("visibility").is(Visibility.PUBLIC)),
+                Aggregation.unwind("tags"),
+                Aggregation.group("tags").count().as("count"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "_id"))),
+                Aggregation.limit(Math.min(Math.max(limit, 1), 50)),
+                Aggregation.project("count").and("tag").previousOperation());
+
+        return mongoTemplate.aggregate(aggregation, GalleryPostEntity.class, TagFacetResponse.class)
+                .getMappedResults();
+    }
+
+    private Page<GalleryPostEntity> search(String q, Criteria filter, Pageable pageable) {
+        TextCriteria text = textCriteria(q);
+        if (text == null) {
+            return Page.empty(pageable);
+        }
+
+        Query query = TextQuery.queryText(text).sortByScore()
+                .addCriteria(filter)
+                .with(pageable);
+        query.fields().exclude("search");
+
+        List<GalleryPostEntity> content = mongoTemplate.find(query, GalleryPostEntity.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), GalleryPostEntity.class));
+    }
+
+    /**
+     * 검색어 → TextCriteria (토큰이 없으면 null)
+     */
+    private TextCriteria textCriteria(String q) {
+        List<String> tokens = tokenizer.queryTokens(q);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        TextCriteria text = TextCriteria.forDefaultLanguage();
+        tokens.forEach(text::matchingPhrase);
+        return text;
+    }
+}
@@ -0,0 +1,124 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.gallery.entity.GallerySearchFields;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 🔤 GallerySearchTokenizer
+ * 게시글 검색 토큰 생성 (색인 / 검색어 공통)
+ *
+ * - NFKC 정규화 + 소문자 → 글자/숫자 외 문자는 모두 구분자
+ * - 한글/한자/가나가 섞인 단어는 2-gram (조사가 붙어도 "공룡이" → 공룡, 룡이 로 매칭)
+ *   색인할 때는 CJK 글자 1-gram도 함께 → 한 글자 검색어("차", "배")도 긴 단어("기차를")에 매칭
+ * - 그 외 단어는 그대로 (Mongo text index는 default_language none → 형태소/불용어 처리 없음)
+ * - 검색어의 따옴표/마이너스 등 연산자 문자는 토큰화 과정에서 사라짐 → 쿼리 문법으로 해석되지 않음
+ */
+@Component
+public class GallerySearchTokenizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** 본문은 앞부분만 색인 (토큰 수 상한) */
+    private static final int MAX_CONTENT_LENGTH = 2000;
+
+    /** 검색어 토큰 상한 (모두 AND 조건) */
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    /** 색인 토큰 규칙 버전 - 바뀌면 GallerySearchBackfill이 기존 게시글을 다시 계산 */
+    public static final int VERSION = 2;
+
+    /**
+     * 저장용 검색 필드 계산
+     */
+    public GallerySearchFields fieldsOf(GalleryPostEntity post) {
+        String content = post.getContent();
+        if (content != null && content.length() > MAX_CONTENT_LENGTH) {
+            content = content.substring(0, MAX_CONTENT_LENGTH);
+        }
+        return GallerySearchFields.builder()
+                .title(join(indexTokens(post.getTitle())))
+                .content(join(indexTokens(content)))
+                .tags(post.getTags() == null ? "" : join(indexTokens(String.join(" ", post.getTags()))))
+                .author(join(indexTokens(post.getAuthorNickname())))
+                .version(VERSION)
+                .build();
+    }
+
+    /**
+     * 검색어 토큰 (중복 제거, 최대 MAX_QUERY_TOKENS개)
+     */
+    public List<String> queryTokens(String query) {
+        return new LinkedHashSet<>(tokenize(query)).stream()
+                .limit(MAX_QUERY_TOKENS)
+                .toList();
+    }
+
+    /**
+     * 색인 토큰 - 검색어 토큰 + 두 글자 이상 단어의 CJK 1-gram (중복 제거)
+     */
+    List<String> indexTokens(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(tokenize(text, true)));
+    }
+
+    List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    private List<String> tokenize(String text, boolean unigrams) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String word : SEPARATOR.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!hasCjk(word)) {
+                tokens.add(word);
+                continue;
+            }
+            int[] cps = word.codePoints().toArray();
+            if (cps.length <= 2) {
+                tokens.add(word);
+            } else {
+                for (int i = 0; i + 1 < cps.length; i++) {
+                    tokens.add(new String(cps, i, 2));
+                }
+            }
+            if (unigrams && cps.length > 1) {
+                for (int i = 0; i < cps.length; i++) {
+                    if (isCjk(cps[i])) {
+                        tokens.add(new String(cps, i, 1));
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private boolean hasCjk(String word) {
+        return word.codePoints().anyMatch(this::isCjk);
+    }
+
+    private boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    private String join(List<String> tokens) {
+        return String.join(" ", tokens);
+    }
+}
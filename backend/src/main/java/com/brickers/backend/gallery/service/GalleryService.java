@@ -37,6 +37,8 @@ public class GalleryService {
     private final GenerateJobRepository generateJobRepository;
     private final CurrentUserService currentUserService;
     private final GalleryRevalidateService revalidateService;
+    private final GalleryPageCache pageCache;
+    private final GallerySearchService searchService;
 
     private final GalleryMapper galleryMapper;
     private final GalleryHelper galleryHelper;
@@ -63,19 +65,19 @@ public class GalleryService {
         return galleryMapper.toResponse(post, me.getId());
     }
 
-    /** 공개 게시글 목록 조회 */
+    /** 공개 게시글 목록 조회 (앞쪽 페이지는 GalleryPageCache, viewer 상태는 매 요청 덧씌움) */
     @Transactional(readOnly = true)
     public Page<GalleryResponse> listPublic(int page, int size, String sort, String level, Authentication authOrNull) {
         Pageable pageable = galleryHelper.createPageRequest(page, size, sort);
         KidsLevel targetLevel = galleryHelper.parseLevel(level);
 
-        Page<GalleryPostEntity> result = (targetLevel == null)
+        Page<GalleryPostEntity> result = pageCache.getOrLoad(pageable, targetLevel, () -> (targetLevel == null)
                 ? galleryPostRepository.findByDeletedFalseAndVisibility(Visibility.PUBLIC, pageable)
                 : galleryPostRepository.findByDeletedFalseAndVisibilityAndLevel(Visibility.PUBLIC, targetLevel,
-                        pageable);
+                        pageable));
 
         String userId = currentUserService.getUserIdOrNull(authOrNull);
-        return result.map(p -> galleryMapper.toResponse(p, userId));
+        return galleryMapper.toResponsePage(result, userId);
     }
 
     /** 공개 게시글 검색 */
@@ -87,7 +89,7 @@ public class GalleryService {
 
         Page<GalleryPostEntity> result;
         if (q != null && !q.isBlank()) {
-            result = galleryPostRepository.searchByTitleOrContent(Visibility.PUBLIC, q.trim(), pageable);
+            result = searchService.searchPublic(q, pageable);
         } else if (tag != null && !tag.isBlank()) {
             result = galleryPostRepository.findByDeletedFalseAndVisibilityAndTagsContaining(Visibility.PUBLIC,
                     tag.trim(), pageable);
@@ -95,7 +97,7 @@ public class GalleryService {
             return listPublic(page, size, sort, null, authOrNull);
         }
 
-        return result.map(p -> galleryMapper.toResponse(p, userId));
+        return galleryMapper.toResponsePage(result, userId);
     }
 
     /** 게시글 상세 조회 */
@@ -158,7 +160,7 @@ public class GalleryService {
         User me = currentUserService.get(auth);
         Pageable pageable = galleryHelper.createPageRequest(page, size, sort);
         Page<GalleryPostEntity> result = galleryPostRepository.findByDeletedFalseAndAuthorId(me.getId(), pageable);
-        return result.map(p -> galleryMapper.toResponse(p, me.getId()));
+        return galleryMapper.toResponsePage(result, me.getId());
     }
 
     /** 스크린샷 업데이트 */
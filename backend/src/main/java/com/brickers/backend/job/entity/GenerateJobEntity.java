@@ -66,6 +66,12 @@ public class GenerateJobEntity {
     /** 언어 설정 (ko, en, ja) */
     private String language;
 
+    /** 요청 연령대 원문 (재시도 시 그대로 재전송) */
+    private String age;
+
+    /** 요청 브릭 개수 (재시도 시 그대로 재전송) */
+    private Integer budget;
+
     /** Gemini가 추천한 태그 목록 (갤러리 등록 시 사용) */
     private java.util.List<String> suggestedTags;
 
@@ -144,9 +150,21 @@ public class GenerateJobEntity {
     /** 재시도/재개 요구(선택): 특정 단계부터 다시 수행하고 싶을 때 기록 */
     private JobStage requestedFromStage;
 
+    /** 재시도 작업을 SQS/워커로 보낸 시각 (null이면 아직 미전송) */
+    private LocalDateTime retryDispatchedAt;
+
+    /** 시간 초과로 watchdog이 재전송한 횟수 */
+    private Integer reapCount;
+
+    /** 생성 대기열에 있는 동안 주기적으로 갱신 (대기 중인 Job을 멈춘 Job으로 보지 않도록) */
+    private LocalDateTime queueHeartbeatAt;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /** 문서 리비전 - save/update 모든 쓰기마다 Mongo에서 $inc (조회 ETag, 엔티티 값으로 계산하지 않음) */
+    private long revision;
+
     /**
      * ✅ 기존 문서 호환 + null 방지
      * - 저장 전에 service에서 호출해주면 안전
@@ -240,6 +258,7 @@ public class GenerateJobEntity {
             throw new IllegalStateException("Retry not allowed in status=" + status);
         }
         this.requestedFromStage = (fromStage != null) ? fromStage : this.stage;
+        this.retryDispatchedAt = null;
         this.status = JobStatus.QUEUED;
         this.stage = this.requestedFromStage;
         this.errorMessage = null;
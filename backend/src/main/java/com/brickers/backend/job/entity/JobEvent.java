@@ -0,0 +1,54 @@
+package com.brickers.backend.job.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job 실시간 이벤트 (SSE 로그/상태 스트리밍용)
+ *
+ * - JobEventBus로 모든 백엔드 인스턴스에 전달됨
+ * - Mongo 버스 사용 시에만 job_events 컬렉션에 저장 (change stream 전달용, 1시간 후 자동 삭제)
+ */
+@Document(collection = "job_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobEvent {
+
+    public enum Type {
+        AGENT_LOG, // 에이전트 진행 로그
+        JOB_STATUS, // Job 상태/단계 변경
+        WORK_CANCEL // 진행 중인 시도만 중단 (상태는 그대로 - 재전송 직전 등)
+    }
+
+    /** AGENT_LOG는 발행 시점에 ObjectId를 미리 부여 (모든 인스턴스에서 같은 SSE event id) */
+    @Id
+    private String id;
+
+    private String jobId;
+
+    private Type type;
+
+    /** JOB_STATUS의 Job 버전 (updatedAt ms, SSE event id) / WORK_CANCEL은 요청 시각(ms) */
+    private long seq;
+
+    private String step;
+
+    /** 로그 메시지 (JOB_STATUS는 errorMessage) */
+    private String message;
+
+    // JOB_STATUS 필드
+    private JobStatus status;
+    private JobStage stage;
+
+    /** 이벤트를 발행한 인스턴스 ID (자기 이벤트 중복 수신 방지) */
+    private String origin;
+
+    @Indexed(name = "ttl_createdAt", expireAfterSeconds = 60 * 60)
+    private LocalDateTime createdAt;
+}
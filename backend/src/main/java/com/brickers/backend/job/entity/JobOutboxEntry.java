@@ -0,0 +1,71 @@
+package com.brickers.backend.job.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job 전송 outbox (생성 요청 → SQS / AsyncWorker)
+ *
+ * - Job 저장 전에 먼저 기록 → 저장 직후 서버가 죽어도 relay가 이어서 전송 (at-least-once)
+ * - relay가 lockedUntil로 선점, 실패 시 attempts/nextAttemptAt으로 재시도 (createdAt 순서 유지)
+ * - 전송 완료(SENT) 기록은 7일 후 TTL 삭제
+ */
+@Document(collection = "job_outbox")
+@CompoundIndex(name = "ix_status_nextAttemptAt_createdAt", def = "{'status': 1, 'nextAttemptAt': 1, 'createdAt': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobOutboxEntry {
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+
+    @Id
+    private String id;
+
+    /** 대상 Job (Job 저장 전에 미리 발급한 id) */
+    @Indexed(unique = true)
+    private String jobId;
+
+    /* ========== 전송 payload ========== */
+
+    private String userId;
+    /** 비로그인 요청의 대기열 유저 키 ("ip:" + 클라이언트 IP) - 게스트끼리 하나의 슬롯을 나눠 쓰지 않도록 */
+    private String clientKey;
+    private String sourceImageUrl;
+    private String prompt;
+    private String title;
+    private String age;
+    private int budget;
+    private String language;
+
+    /* ========== 전송 상태 ========== */
+
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /** 전송 시도 횟수 (선점할 때 증가) */
+    private int attempts;
+
+    /** 이 시각 이후에 전송 (재시도 backoff) */
+    private LocalDateTime nextAttemptAt;
+
+    /** 선점한 인스턴스 / 선점 만료 시각 (만료되면 다른 인스턴스가 가져감) */
+    private String lockedBy;
+    private LocalDateTime lockedUntil;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    /** ✅ TTL 기준 시간 (전송 완료 7일 후 자동 삭제) */
+    @Indexed(name = "ttl_sentAt", expireAfterSeconds = 60 * 60 * 24 * 7)
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,33 @@
+package com.brickers.backend.job.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러 리스 (여러 인스턴스 중 하나만 주기 작업을 수행하도록)
+ *
+ * - _id = 작업 이름 (예: stuck-job-reaper)
+ * - 보유 인스턴스가 매 실행마다 expiresAt을 연장 (heartbeat), 죽으면 만료 후 다른 인스턴스가 인계
+ */
+@Document(collection = "scheduler_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    private String id;
+
+    /** 현재 보유 인스턴스 */
+    private String owner;
+
+    /** 마지막 heartbeat 시각 */
+    private LocalDateTime heartbeatAt;
+
+    /** 이 시각이 지나면 다른 인스턴스가 가져갈 수 있음 */
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,43 @@
+package com.brickers.backend.job.event;
+
+import com.brickers.backend.job.entity.JobEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * JVM 내부 전달만 하는 이벤트 버스 (기본값)
+ * - 단일 인스턴스 배포 또는 테스트용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.job-events.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessJobEventBus implements JobEventBus {
+
+    private final List<Consumer<JobEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(JobEvent event) {
+        deliver(listeners, event);
+    }
+
+    @Override
+    public void subscribe(Consumer<JobEvent> listener) {
+        listeners.add(listener);
+    }
+
+    static void deliver(List<Consumer<JobEvent>> listeners, JobEvent event) {
+        for (Consumer<JobEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("⚠️ [JobEventBus] 리스너 처리 실패 | jobId={} | type={} | error={}",
+                        event.getJobId(), event.getType(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.brickers.backend.job.event;
+
+import com.brickers.backend.job.entity.JobEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Job 이벤트 버스
+ *
+ * - publish한 이벤트는 발행한 인스턴스를 포함해 모든 인스턴스의 구독자에게 전달
+ * - 구현: InProcessJobEventBus (단일 인스턴스/테스트), MongoJobEventBus (다중 인스턴스)
+ * - app.job-events.bus 값으로 선택 (in-process | mongo)
+ */
+public interface JobEventBus {
+
+    void publish(JobEvent event);
+
+    void subscribe(Consumer<JobEvent> listener);
+}
@@ -0,0 +1,41 @@
+package com.brickers.backend.job.event;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Job 상태 변경 이벤트 발행
+ * - 버전 = updatedAt(ms). 상태/단계를 바꾸는 경로는 모두 updatedAt을 갱신하므로 SSE id로 사용
+ *   (조회 ETag는 모든 쓰기마다 증가하는 GenerateJobEntity.revision)
+ */
+@Component
+@RequiredArgsConstructor
+public class JobStatusPublisher {
+
+    private final JobEventBus jobEventBus;
+
+    public void publish(GenerateJobEntity job) {
+        if (job == null || job.getId() == null || job.getStatus() == null) {
+            return;
+        }
+        jobEventBus.publish(JobEvent.builder()
+                .jobId(job.getId())
+                .type(JobEvent.Type.JOB_STATUS)
+                .seq(versionOf(job))
+                .status(job.getStatus())
+                .stage(job.getStage())
+                .message(job.getErrorMessage())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    public static long versionOf(GenerateJobEntity job) {
+        LocalDateTime updatedAt = job.getUpdatedAt();
+        return updatedAt == null ? 0L : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
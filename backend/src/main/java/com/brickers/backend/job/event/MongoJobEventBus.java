@@ -0,0 +1,154 @@
+package com.brickers.backend.job.event;
+
+import com.brickers.backend.job.entity.JobEvent;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Mongo change stream 기반 이벤트 버스 (다중 인스턴스용)
+ *
+ * - publish: 로컬 구독자에게 즉시 전달 + job_events에 비동기 insert
+ * - 모든 인스턴스가 job_events change stream을 구독해서 다른 인스턴스가 발행한 이벤트를 로컬 구독자에게 전달
+ * - sticky session 없이도 SSE 연결과 AI 서버 콜백이 서로 다른 인스턴스에 도착해도 동작
+ * - MongoDB가 replica set(또는 Atlas)이어야 change stream 사용 가능
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.job-events.bus", havingValue = "mongo")
+public class MongoJobEventBus implements JobEventBus, SmartLifecycle {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Consumer<JobEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private ThreadPoolExecutor writer;
+    private Thread watcher;
+    private volatile boolean running = false;
+    private volatile BsonDocument resumeToken;
+
+    @Override
+    public void publish(JobEvent event) {
+        event.setOrigin(instanceId);
+        if (event.getCreatedAt() == null) {
+            event.setCreatedAt(LocalDateTime.now());
+        }
+        InProcessJobEventBus.deliver(listeners, event);
+
+        try {
+            writer.execute(() -> {
+                try {
+                    mongoTemplate.insert(event);
+                } catch (Exception e) {
+                    log.warn("⚠️ [JobEventBus] 이벤트 저장 실패 | jobId={} | error={}", event.getJobId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ [JobEventBus] 이벤트 저장 큐 가득 참 - 다른 인스턴스로 전달 안 됨 | jobId={}", event.getJobId());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<JobEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(10_000),
+                r -> {
+                    Thread t = new Thread(r, "job-event-writer");
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        running = true;
+        watcher = new Thread(this::watchLoop, "job-event-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("✅ [JobEventBus] Mongo change stream 구독 시작 | instanceId={}", instanceId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            watcher.join(5_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * change stream 구독 루프 (끊기면 resume token으로 이어서 재구독)
+     */
+    private void watchLoop() {
+        while (running) {
+            try {
+                watchOnce();
+            } catch (Exception e) {
+                log.warn("⚠️ [JobEventBus] change stream 오류 - 재연결 | error={}", e.getMessage());
+                try {
+                    Thread.sleep(1_000L);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void watchOnce() {
+        var stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(JobEvent.class))
+                .watch(List.of(Aggregates.match(Filters.eq("operationType", "insert"))))
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    continue;
+                }
+                resumeToken = change.getResumeToken();
+
+                Document doc = change.getFullDocument();
+                if (doc == null || instanceId.equals(doc.getString("origin"))) {
+                    continue;
+                }
+                InProcessJobEventBus.deliver(listeners, mongoTemplate.getConverter().read(JobEvent.class, doc));
+            }
+        }
+    }
+}
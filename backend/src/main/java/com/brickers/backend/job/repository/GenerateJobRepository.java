@@ -8,7 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface GenerateJobRepository extends MongoRepository<GenerateJobEntity, String> {
+/**
+ * save는 GenerateJobRepositoryCustom 구현이 대체 (revision $inc + 상태 이벤트 발행)
+ */
+public interface GenerateJobRepository extends MongoRepository<GenerateJobEntity, String>, GenerateJobRepositoryCustom {
 
         // ✅ 삭제되지 않은 작업만 조회 (사용자 마이페이지용)
         Page<GenerateJobEntity> findByUserIdAndDeletedFalseOrderByCreatedAtDesc(String userId, Pageable pageable);
@@ -0,0 +1,11 @@
+package com.brickers.backend.job.repository;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+
+/**
+ * GenerateJobRepository.save 대체 (revision을 Mongo에서 $inc)
+ */
+public interface GenerateJobRepositoryCustom {
+
+    <S extends GenerateJobEntity> S save(S job);
+}
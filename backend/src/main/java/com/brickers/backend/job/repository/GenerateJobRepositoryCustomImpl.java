@@ -0,0 +1,66 @@
+package com.brickers.backend.job.repository;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.event.JobStatusPublisher;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * GenerateJobEntity 저장 - 문서 내용 $set/$unset + revision $inc 를 findAndModify 한 번으로
+ *
+ * - revision은 메모리의 엔티티 값이 아니라 Mongo가 증가시킨 값 → 오래전에 읽은 엔티티를 저장해도
+ *   조건부 $inc 경로(워커/스케줄러)가 이미 발급한 revision과 겹치거나 뒤로 가지 않음 (ETag 중복 → 잘못된 304 방지)
+ * - 저장 내용은 기존 save와 같음 (엔티티에 없는 필드는 $unset → 전체 교체와 동일한 결과)
+ * - 저장 후 상태 이벤트 발행 (MongoTemplate update 계열 경로는 호출한 쪽에서 $inc revision + JobStatusPublisher)
+ */
+@RequiredArgsConstructor
+public class GenerateJobRepositoryCustomImpl implements GenerateJobRepositoryCustom {
+
+    private static final String ID_FIELD = "_id";
+    private static final String REVISION_FIELD = "revision";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobStatusPublisher jobStatusPublisher;
+
+    @Override
+    public <S extends GenerateJobEntity> S save(S job) {
+        if (job.getId() == null) {
+            job.setId(new ObjectId().toHexString());
+        }
+
+        Document document = new Document();
+        mongoTemplate.getConverter().write(job, document);
+        document.remove(ID_FIELD);
+        document.remove(REVISION_FIELD);
+
+        Update update = new Update();
+        document.forEach(update::set);
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(GenerateJobEntity.class);
+        entity.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            String field = property.getFieldName();
+            if (!property.isIdProperty() && !REVISION_FIELD.equals(field) && !document.containsKey(field)) {
+                update.unset(field);
+            }
+        });
+        update.inc(REVISION_FIELD, 1);
+
+        Query query = Query.query(Criteria.where(ID_FIELD).is(job.getId()));
+        query.fields().include(REVISION_FIELD);
+        GenerateJobEntity saved = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true).upsert(true), GenerateJobEntity.class);
+
+        job.setRevision(saved.getRevision());
+        jobStatusPublisher.publish(job);
+        return job;
+    }
+}
@@ -0,0 +1,129 @@
+package com.brickers.backend.job.service;
+
+import com.brickers.backend.job.entity.JobEvent;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobEventBus;
+import com.brickers.backend.sqs.service.SqsProducerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🛑 JobCancellationRegistry
+ * 진행 중인 생성 작업(jobId → Disposable)을 보관하고, 취소 시 실제 작업까지 중단합니다.
+ *
+ * - 로컬 파이프라인: Disposable dispose → WebClient 연결 종료 (AI 서버에도 전파)
+ * - 다른 인스턴스의 파이프라인: JobEventBus의 CANCELED 상태 / WORK_CANCEL 이벤트를 받아 각자 dispose
+ *   (WORK_CANCEL은 요청 시각 이전에 시작된 작업만 → 바로 뒤이어 재전송된 작업은 건드리지 않음)
+ * - SQS 경로: 요청 큐에 CANCEL 메시지 발행 → AI 서버가 대기/진행 중인 작업 중단
+ */
+@Slf4j
+@Component
+public class JobCancellationRegistry {
+
+    private final JobEventBus jobEventBus;
+    /** aws.sqs.enabled=true일 때만 빈이 있음 */
+    private final ObjectProvider<SqsProducerService> sqsProducerService;
+    private final Counter disposedCounter;
+
+    @Value("${aws.sqs.enabled:false}")
+    private boolean sqsEnabled;
+
+    private final ConcurrentHashMap<String, Work> inFlight = new ConcurrentHashMap<>();
+
+    private record Work(Disposable disposable, long registeredAt) {
+    }
+
+    public JobCancellationRegistry(JobEventBus jobEventBus, ObjectProvider<SqsProducerService> sqsProducerService,
+            MeterRegistry meterRegistry) {
+        this.jobEventBus = jobEventBus;
+        this.sqsProducerService = sqsProducerService;
+        this.disposedCounter = Counter.builder("job.cancel.disposed")
+                .description("취소로 중단된 진행 중 작업 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribeJobEvents() {
+        jobEventBus.subscribe(event -> {
+            if (event.getType() == JobEvent.Type.JOB_STATUS && event.getStatus() == JobStatus.CANCELED) {
+                disposeLocal(event.getJobId(), Long.MAX_VALUE);
+            } else if (event.getType() == JobEvent.Type.WORK_CANCEL) {
+                disposeLocal(event.getJobId(), event.getSeq());
+            }
+        });
+    }
+
+    /**
+     * 진행 중 작업 등록 (작업 종료 시 unregister 필수)
+     */
+    public void register(String jobId, Disposable work) {
+        Work previous = inFlight.put(jobId, new Work(work, System.currentTimeMillis()));
+        if (previous != null && previous.disposable() != work) {
+            // 같은 Job 재시도 등으로 이전 작업이 남아있으면 중단
+            previous.disposable().dispose();
+        }
+    }
+
+    public void unregister(String jobId, Disposable work) {
+        inFlight.computeIfPresent(jobId, (k, current) -> current.disposable() == work ? null : current);
+    }
+
+    /**
+     * Job 취소 / 재전송 전 이전 시도 중단
+     * - 모든 인스턴스에 WORK_CANCEL 발행 (자기 자신 포함) → 지금까지 시작된 로컬 작업 dispose
+     * - SQS 사용 시 AI 서버에 CANCEL 전달
+     */
+    public void cancel(String jobId) {
+        jobEventBus.publish(JobEvent.builder()
+                .jobId(jobId)
+                .type(JobEvent.Type.WORK_CANCEL)
+                .seq(System.currentTimeMillis())
+                .createdAt(LocalDateTime.now())
+                .build());
+        if (sqsEnabled) {
+            try {
+                sqsProducerService.getObject().sendCancelRequest(jobId).whenComplete((messageId, e) -> {
+                    if (e != null) {
+                        logCancelFailure(jobId, e);
+                    }
+                });
+            } catch (Exception e) {
+                logCancelFailure(jobId, e);
+            }
+        }
+    }
+
+    private void logCancelFailure(String jobId, Throwable e) {
+        // DB는 이미 CANCELED → 결과가 와도 applySqsResult에서 무시됨
+        log.warn("⚠️ [JobCancel] CANCEL 메시지 전송 실패 | jobId={} | error={}", jobId, e.getMessage());
+    }
+
+    /**
+     * startedBefore 이전에 등록된 로컬 작업만 중단
+     */
+    private void disposeLocal(String jobId, long startedBefore) {
+        Work[] removed = new Work[1];
+        inFlight.computeIfPresent(jobId, (k, current) -> {
+            if (current.registeredAt() > startedBefore) {
+                return current;
+            }
+            removed[0] = current;
+            return null;
+        });
+        Disposable work = removed[0] == null ? null : removed[0].disposable();
+        if (work != null && !work.isDisposed()) {
+            work.dispose();
+            disposedCounter.increment();
+            log.info("🛑 [JobCancel] 진행 중 작업 중단 | jobId={}", jobId);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.brickers.backend.job.service;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobOutboxEntry;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.repository.GenerateJobRepository;
+import com.brickers.backend.kids.dto.QueuePositionResponse;
+import com.brickers.backend.kids.service.GenerationScheduler;
+import com.brickers.backend.kids.service.KidsAsyncWorker;
+import com.brickers.backend.sqs.service.SqsProducerService;
+import com.brickers.backend.user.entity.MembershipPlan;
+import com.brickers.backend.user.entity.User;
+import com.brickers.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📮 JobOutboxRelay
+ * job_outbox의 PENDING 항목을 생성 대기열(GenerationScheduler)을 거쳐 SQS 또는 AsyncWorker로 전송합니다.
+ *
+ * - 요청 스레드: outbox 기록 직후 relayNow로 바로 선점/대기열 등록 (평소 경로)
+ * - sweep: 선점되지 않았거나 선점이 만료된 항목을 createdAt 순으로 다시 가져감 (서버 재시작/전송 실패 복구)
+ * - 선점은 findAndModify CAS라 여러 인스턴스가 같은 항목을 동시에 보내지 않음
+ * - 대기열에 있는 동안은 renewLeases로 선점 연장
+ * - 전송 완료를 확인한 뒤에만 SENT → 중간에 죽으면 다시 전송될 수 있음 (at-least-once)
+ * - 재시도(requestedFromStage가 있는 Job)도 같은 outbox 항목을 PENDING으로 되돌려 같은 경로로 전송
+ */
+@Slf4j
+@Service
+public class JobOutboxRelay {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final GenerateJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final GenerationScheduler generationScheduler;
+    /** aws.sqs.enabled=true일 때만 빈이 있음 */
+    private final ObjectProvider<SqsProducerService> sqsProducerService;
+    private final KidsAsyncWorker kidsAsyncWorker;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    private final String ownerId = UUID.randomUUID().toString();
+
+    /** 이 인스턴스가 선점 중인 outbox id (대기열 대기 포함) */
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    @Value("${aws.sqs.enabled:false}")
+    private boolean sqsEnabled;
+
+    @Value("${app.job-outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${app.job-outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.job-outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.job-outbox.retry-backoff-seconds:5}")
+    private long retryBackoffSeconds;
+
+    @Value("${app.job-outbox.missing-job-grace-seconds:60}")
+    private long missingJobGraceSeconds;
+
+    public JobOutboxRelay(MongoTemplate mongoTemplate, GenerateJobRepository jobRepository,
+            UserRepository userRepository, GenerationScheduler generationScheduler,
+            ObjectProvider<SqsProducerService> sqsProducerService, KidsAsyncWorker kidsAsyncWorker, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.generationScheduler = generationScheduler;
+        this.sqsProducerService = sqsProducerService;
+        this.kidsAsyncWorker = kidsAsyncWorker;
+
+        this.sentCounter = Counter.builder("job.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("job.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("job.outbox.failed")
+                .description("재시도 한도를 넘겨 FAILED 처리된 outbox 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * outbox 기록 (Job 저장 전에 호출)
+     */
+    public JobOutboxEntry record(JobOutboxEntry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        entry.setStatus(JobOutboxEntry.Status.PENDING);
+        entry.setNextAttemptAt(now);
+        entry.setCreatedAt(now);
+        return mongoTemplate.insert(entry);
+    }
+
+    /**
+     * 요청 스레드에서 바로 선점 후 대기열 등록
+     * - 대기열 포화(TaskRejectedException)는 호출자에게 전달 (outbox는 FAILED 처리)
+     */
+    public QueuePositionResponse relayNow(JobOutboxEntry entry) {
+        JobOutboxEntry claimed = claim(entry.getId());
+        if (claimed == null) {
+            // 이미 다른 인스턴스가 선점 (sweep과 경합) → 그쪽에서 전송
+            return QueuePositionResponse.notQueued(entry.getJobId());
+        }
+        try {
+            return submit(claimed);
+        } catch (TaskRejectedException e) {
+            markFailed(claimed, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 재시도 전송 - Job의 outbox 항목을 PENDING으로 되돌린 뒤(없으면 생성) 바로 선점/대기열 등록
+     * - 이미 PENDING이면 그 항목이 전송하므로 아무것도 하지 않음
+     * - 대기열 포화면 backoff 후 sweep이 다시 가져감 (재시도 요청은 실패 처리하지 않음)
+     */
+    public QueuePositionResponse requeue(GenerateJobEntity job) {
+        return resend(job, true);
+    }
+
+    /**
+     * 시작 전에 멈춘 Job 재전송 - 기존 outbox 항목(최초 요청 payload)을 PENDING으로 되돌려 처음부터 다시 전송
+     * - 항목이 없으면 payload가 없으므로 아무것도 하지 않음 (다음 reaper 주기에 FAILED)
+     */
+    public QueuePositionResponse restart(GenerateJobEntity job) {
+        return resend(job, false);
+    }
+
+    private QueuePositionResponse resend(GenerateJobEntity job, boolean upsert) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("jobId").is(job.getId())
+                .and("status").ne(JobOutboxEntry.Status.PENDING));
+        Update update = new Update()
+                .set("status", JobOutboxEntry.Status.PENDING)
+                .set("userId", job.getUserId())
+                .set("attempts", 0)
+                .set("nextAttemptAt", now)
+                .set("createdAt", now)
+                .unset("lockedBy")
+                .unset("lockedUntil")
+                .unset("lastError")
+                .unset("sentAt");
+
+        JobOutboxEntry entry;
+        try {
+            entry = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true).upsert(upsert), JobOutboxEntry.class);
+        } catch (DuplicateKeyException e) {
+            // 이미 PENDING (unique jobId) → 기존 항목이 전송
+            return QueuePositionResponse.notQueued(job.getId());
+        }
+
+        JobOutboxEntry claimed = entry == null ? null : claim(entry.getId());
+        if (claimed == null) {
+            return QueuePositionResponse.notQueued(job.getId());
+        }
+        try {
+            return submit(claimed);
+        } catch (TaskRejectedException e) {
+            release(claimed, e.getMessage(), retryBackoffSeconds);
+            return QueuePositionResponse.notQueued(job.getId());
+        }
+    }
+
+    /**
+     * 미전송 outbox 전송 (5초마다)
+     */
+    @Scheduled(fixedDelayString = "${app.job-outbox.sweep-interval-ms:5000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("status").is(JobOutboxEntry.Status.PENDING)
+                        .and("nextAttemptAt").lte(now)
+                        .orOperator(
+                                Criteria.where("lockedUntil").is(null),
+                                Criteria.where("lockedUntil").lt(now)))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        query.fields().include("_id");
+
+        List<JobOutboxEntry> candidates = mongoTemplate.find(query, JobOutboxEntry.class);
+        for (JobOutboxEntry candidate : candidates) {
+            JobOutboxEntry claimed = claim(candidate.getId());
+            if (claimed == null) {
+                continue;
+            }
+            try {
+                submit(claimed);
+            } catch (TaskRejectedException e) {
+                // 대기열 포화 → 나머지도 다음 주기에 (순서 유지)
+                release(claimed, e.getMessage(), retryBackoffSeconds);
+                break;
+            } catch (Exception e) {
+                retryOrFail(claimed, e);
+            }
+        }
+    }
+
+    /**
+     * 대기열에서 기다리는 동안 선점 연장 (20초마다 - lease-seconds보다 충분히 짧게)
+     */
+    @Scheduled(fixedDelayString = "${app.job-outbox.renew-interval-ms:20000}")
+    public void renewLeases() {
+        if (held.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(held)
+                        .and("status").is(JobOutboxEntry.Status.PENDING)
+                        .and("lockedBy").is(ownerId)),
+                new Update().set("lockedUntil", LocalDateTime.now().plusSeconds(leaseSeconds)),
+                JobOutboxEntry.class);
+    }
+
+    /**
+     * PENDING + 선점 가능한 항목만 선점 (CAS)
+     */
+    private JobOutboxEntry claim(String entryId) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(entryId)
+                .and("status").is(JobOutboxEntry.Status.PENDING)
+                .orOperator(
+                        Criteria.where("lockedUntil").is(null),
+                        Criteria.where("lockedUntil").lt(now)));
+        Update update = new Update()
+                .set("lockedBy", ownerId)
+                .set("lockedUntil", now.plusSeconds(leaseSeconds))
+                .inc("attempts", 1);
+        JobOutboxEntry claimed = mongoTemplate.findAndModify(query, update, RETURN_NEW, JobOutboxEntry.class);
+        if (claimed != null) {
+            held.add(claimed.getId());
+        }
+        return claimed;
+    }
+
+    /**
+     * 선점한 항목을 생성 대기열에 등록
+     * - Job이 아직 없으면 저장 전일 수 있으므로 grace 기간 동안은 backoff 후 재시도,
+     *   그 뒤에도 없으면 (outbox 기록 직후 죽음) 정리
+     * - 이미 진행/종료됐으면 전송하지 않고 정리
+     */
+    private QueuePositionResponse submit(JobOutboxEntry entry) {
+        GenerateJobEntity job = jobRepository.findById(entry.getJobId()).orElse(null);
+        if (job == null) {
+            LocalDateTime graceUntil = entry.getCreatedAt() == null
+                    ? LocalDateTime.MIN
+                    : entry.getCreatedAt().plusSeconds(missingJobGraceSeconds);
+            if (LocalDateTime.now().isBefore(graceUntil)) {
+                release(entry, "job not saved yet", retryBackoffSeconds);
+            } else {
+                log.warn("⚠️ [Outbox] Job 없음 - outbox 정리 | jobId={}", entry.getJobId());
+                markFailed(entry, "job not found");
+            }
+            return QueuePositionResponse.notQueued(entry.getJobId());
+        }
+        if (job.getStatus() != JobStatus.QUEUED) {
+            markSent(entry);
+            return QueuePositionResponse.notQueued(entry.getJobId());
+        }
+
+        String userKey = entry.getUserId() != null ? entry.getUserId()
+                : entry.getClientKey() != null ? entry.getClientKey() : "guest";
+        return generationScheduler.enqueue(new GenerationScheduler.Ticket(entry.getJobId(), userKey,
+                planOf(entry.getUserId()), () -> dispatch(entry)));
+    }
+
+    /**
+     * 대기열에서 차례가 된 요청 전송 (GenerationScheduler 스레드)
+     * - 대기하는 동안 취소/종료됐을 수 있으므로 전송 직전에 Job을 다시 읽어 QUEUED일 때만 전송
+     * - requestedFromStage가 있으면 재시도 요청 (기존 산출물과 함께 해당 단계부터)
+     * - 파이프라인 포화(TaskRejectedException)는 스케줄러가 대기열로 되돌림
+     */
+    private void dispatch(JobOutboxEntry entry) {
+        GenerateJobEntity job = jobRepository.findById(entry.getJobId()).orElse(null);
+        if (job == null || job.getStatus() != JobStatus.QUEUED) {
+            log.info("⏭️ [Outbox] 대기 중 취소/종료된 Job - 전송 생략 | jobId={} | status={}",
+                    entry.getJobId(), job == null ? null : job.getStatus());
+            generationScheduler.abandon(entry.getJobId());
+            markSent(entry);
+            return;
+        }
+        boolean retry = job.getRequestedFromStage() != null;
+        try {
+            if (sqsEnabled) {
+                // 배치 전송 완료를 기다리지 않음 - 결과에 따라 SENT / 재시도
+                (retry
+                        ? sqsProducerService.getObject().sendRetryRequest(job)
+                        : sqsProducerService.getObject().sendJobRequest(entry.getJobId(), entry.getUserId(),
+                                entry.getSourceImageUrl(), entry.getAge(), entry.getBudget(), entry.getLanguage()))
+                        .whenComplete((messageId, e) -> {
+                            if (e != null) {
+                                generationScheduler.abandon(entry.getJobId());
+                                retryOrFail(entry, e);
+                            } else {
+                                markSent(entry);
+                            }
+                        });
+            } else if (retry) {
+                kidsAsyncWorker.resumeGeneration(job);
+                markSent(entry);
+            } else {
+                kidsAsyncWorker.startGeneration(entry.getJobId(), entry.getUserId(), entry.getPrompt(),
+                        entry.getTitle(), entry.getAge(), entry.getBudget(), entry.getLanguage());
+                markSent(entry);
+            }
+        } catch (TaskRejectedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            generationScheduler.abandon(entry.getJobId());
+            retryOrFail(entry, e);
+        }
+    }
+
+    private void markSent(JobOutboxEntry entry) {
+        held.remove(entry.getId());
+        sentCounter.increment();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(entry.getId())),
+                new Update()
+                        .set("status", JobOutboxEntry.Status.SENT)
+                        .set("sentAt", LocalDateTime.now())
+                        .unset("lockedBy")
+                        .unset("lockedUntil"),
+                JobOutboxEntry.class);
+    }
+
+    /**
+     * 전송 실패 - 한도 안이면 backoff 후 재시도 (createdAt은 그대로라 순서 유지), 넘으면 Job도 FAILED
+     */
+    private void retryOrFail(JobOutboxEntry entry, Throwable e) {
+        if (entry.getAttempts() >= maxAttempts) {
+            log.error("❌ [Outbox] 작업 전송 실패 | jobId={} | attempts={} | error={}",
+                    entry.getJobId(), entry.getAttempts(), e.getMessage());
+            markFailed(entry, e.getMessage());
+            jobRepository.findById(entry.getJobId()).filter(GenerateJobEntity::canCancel).ifPresent(job -> {
+                job.markFailed("작업 전송 실패: " + e.getMessage());
+                jobRepository.save(job);
+            });
+            return;
+        }
+        retriedCounter.increment();
+        long backoff = retryBackoffSeconds * (1L << Math.max(0, entry.getAttempts() - 1));
+        log.warn("⚠️ [Outbox] 작업 전송 재시도 예정 | jobId={} | attempts={} | backoff={}s | error={}",
+                entry.getJobId(), entry.getAttempts(), backoff, e.getMessage());
+        release(entry, e.getMessage(), backoff);
+    }
+
+    private void release(JobOutboxEntry entry, String reason, long delaySeconds) {
+        held.remove(entry.getId());
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(entry.getId()).and("lockedBy").is(ownerId)),
+                new Update()
+                        .set("nextAttemptAt", LocalDateTime.now().plusSeconds(delaySeconds))
+                        .set("lastError", reason)
+                        .unset("lockedBy")
+                        .unset("lockedUntil"),
+                JobOutboxEntry.class);
+    }
+
+    private void markFailed(JobOutboxEntry entry, String reason) {
+        held.remove(entry.getId());
+        failedCounter.increment();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(entry.getId())),
+                new Update()
+                        .set("status", JobOutboxEntry.Status.FAILED)
+                        .set("lastError", reason)
+                        .unset("lockedBy")
+                        .unset("lockedUntil"),
+                JobOutboxEntry.class);
+    }
+
+    private MembershipPlan planOf(String userId) {
+        if (userId == null) {
+            return MembershipPlan.FREE;
+        }
+        return userRepository.findById(userId)
+                .map(User::getMembershipPlan)
+                .orElse(MembershipPlan.FREE);
+    }
+}
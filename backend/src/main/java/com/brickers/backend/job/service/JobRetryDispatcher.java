@@ -0,0 +1,103 @@
+package com.brickers.backend.job.service;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🔁 JobRetryDispatcher
+ * 재시도 요청(QUEUED + requestedFromStage)된 Job을 outbox → 생성 대기열(GenerationScheduler) 경로로 다시 보냅니다.
+ *
+ * - 재시도 API / StuckJobReaper 직후 바로 dispatch, outbox에 넘기지 못한 건(인스턴스 종료 등)만 주기적으로 다시 넘김
+ * - retryDispatchedAt = outbox에 넘긴 시각 (findAndModify로 선점 → 여러 인스턴스가 같은 Job을 중복으로 넘기지 않음)
+ * - 넘긴 뒤의 전송 실패/재전송은 outbox가 담당 → 전송된 재시도가 AI 서버 대기열에서 오래 기다린다고 다시 보내지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobRetryDispatcher {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final JobOutboxRelay jobOutboxRelay;
+
+    @Value("${app.job-retry.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    /**
+     * 재시도 요청 직후 호출 (requestRetry 후 save 한 다음)
+     */
+    public void dispatch(String jobId) {
+        GenerateJobEntity job = claim(jobId);
+        if (job != null) {
+            handOver(job);
+        }
+    }
+
+    /**
+     * 아직 outbox에 넘기지 못한 재시도 Job 처리
+     */
+    @Scheduled(fixedDelayString = "${app.job-retry.sweep-interval-ms:30000}")
+    public void sweep() {
+        Query query = Query.query(Criteria.where("status").is(JobStatus.QUEUED)
+                        .and("requestedFromStage").ne(null)
+                        .and("retryDispatchedAt").is(null))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(sweepBatchSize);
+        query.fields().include("_id");
+
+        List<GenerateJobEntity> pending = mongoTemplate.find(query, GenerateJobEntity.class);
+        for (GenerateJobEntity candidate : pending) {
+            GenerateJobEntity job = claim(candidate.getId());
+            if (job != null) {
+                log.info("🔁 [JobRetry] 미전송 재시도 Job 재전송 | jobId={}", job.getId());
+                handOver(job);
+            }
+        }
+    }
+
+    /**
+     * retryDispatchedAt이 비어 있을 때만 현재 시각으로 바꿔서 선점 (CAS)
+     */
+    private GenerateJobEntity claim(String jobId) {
+        Query query = Query.query(Criteria.where("_id").is(jobId)
+                .and("status").is(JobStatus.QUEUED)
+                .and("requestedFromStage").ne(null)
+                .and("retryDispatchedAt").is(null));
+        return mongoTemplate.findAndModify(query,
+                new Update().set("retryDispatchedAt", LocalDateTime.now()).inc("revision", 1),
+                RETURN_NEW,
+                GenerateJobEntity.class);
+    }
+
+    /**
+     * outbox에 넘김 - 실패하면 선점을 풀어서 다음 sweep이 다시 시도
+     */
+    private void handOver(GenerateJobEntity job) {
+        try {
+            jobOutboxRelay.requeue(job);
+            log.info("✅ [JobRetry] 재시도 전송 | jobId={} | fromStage={}", job.getId(), job.getRequestedFromStage());
+        } catch (Exception e) {
+            log.warn("⚠️ [JobRetry] 재시도 전송 실패 | jobId={} | error={}", job.getId(), e.getMessage());
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(job.getId())
+                            .and("retryDispatchedAt").is(job.getRetryDispatchedAt())),
+                    new Update().unset("retryDispatchedAt").inc("revision", 1),
+                    GenerateJobEntity.class);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.brickers.backend.job.service;
+
+import com.brickers.backend.job.entity.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 🔒 SchedulerLeaseService
+ * Mongo 문서 하나로 구현한 리스 - 만료됐거나 내가 가진 리스만 findAndModify(upsert)로 획득/연장합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+
+    private static final FindAndModifyOptions UPSERT = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final String ownerId = UUID.randomUUID().toString();
+
+    /**
+     * 리스 획득 또는 연장 (heartbeat)
+     *
+     * @return 이번 주기 작업을 수행해도 되면 true
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(name)
+                .orOperator(
+                        Criteria.where("expiresAt").lt(now),
+                        Criteria.where("owner").is(ownerId)));
+        Update update = new Update()
+                .set("owner", ownerId)
+                .set("heartbeatAt", now)
+                .set("expiresAt", now.plus(ttl));
+
+        try {
+            return mongoTemplate.findAndModify(query, update, UPSERT, SchedulerLease.class) != null;
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 유효한 리스를 보유 중 (조건 불일치 → upsert insert 충돌)
+            return false;
+        }
+    }
+}
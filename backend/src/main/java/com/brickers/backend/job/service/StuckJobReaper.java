@@ -0,0 +1,222 @@
+package com.brickers.backend.job.service;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobStatusPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🧹 StuckJobReaper
+ * 인스턴스 종료/SQS 결과 유실로 QUEUED·RUNNING에 멈춘 Job을 정리합니다.
+ *
+ * - 리스를 가진 인스턴스 하나만 실행 (매 실행이 heartbeat)
+ * - ix_status_createdAt 범위 쿼리 1회로 후보 조회 (stageUpdatedAt >= createdAt 이므로 createdAt 상한으로 인덱스 범위를 좁힘)
+ * - 대기열 heartbeat도 조건에 포함 → 대기열에서 살아 있는 QUEUED Job이 batch를 채워 멈춘 RUNNING Job을 가리지 않음
+ * - 단계별 SLA 초과 시 max-redispatch 회까지는 재전송, 이후에는 FAILED
+ *   (시작 전 Job은 outbox 최초 요청 그대로 처음부터, 진행 중이던 Job은 같은 단계부터 재시도)
+ * - 갱신은 조회 시점의 status/stageUpdatedAt 조건부 → 그 사이 진행된 Job은 건드리지 않음
+ */
+@Slf4j
+@Component
+public class StuckJobReaper {
+
+    private static final String LEASE_NAME = "stuck-job-reaper";
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final JobRetryDispatcher jobRetryDispatcher;
+    private final JobOutboxRelay jobOutboxRelay;
+    private final JobCancellationRegistry jobCancellationRegistry;
+    private final JobStatusPublisher jobStatusPublisher;
+    private final Counter redispatchedCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.job-reaper.lease-seconds:180}")
+    private long leaseSeconds;
+
+    @Value("${app.job-reaper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.job-reaper.max-redispatch:1}")
+    private int maxRedispatch;
+
+    @Value("${app.job-reaper.sla-seconds.queued:600}")
+    private long queuedSlaSeconds;
+
+    @Value("${app.job-reaper.sla-seconds.three-d-preview:1200}")
+    private long previewSlaSeconds;
+
+    @Value("${app.job-reaper.sla-seconds.model:1200}")
+    private long modelSlaSeconds;
+
+    @Value("${app.job-reaper.sla-seconds.blueprint:900}")
+    private long blueprintSlaSeconds;
+
+    public StuckJobReaper(MongoTemplate mongoTemplate, SchedulerLeaseService schedulerLeaseService,
+            JobRetryDispatcher jobRetryDispatcher, JobOutboxRelay jobOutboxRelay,
+            JobCancellationRegistry jobCancellationRegistry, JobStatusPublisher jobStatusPublisher,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.jobRetryDispatcher = jobRetryDispatcher;
+        this.jobOutboxRelay = jobOutboxRelay;
+        this.jobCancellationRegistry = jobCancellationRegistry;
+        this.jobStatusPublisher = jobStatusPublisher;
+        this.redispatchedCounter = Counter.builder("job.reaper.redispatched")
+                .description("시간 초과로 재전송된 Job 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("job.reaper.failed")
+                .description("시간 초과로 실패 처리된 Job 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.job-reaper.sweep-interval-ms:60000}",
+            initialDelayString = "${app.job-reaper.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusSeconds(minSlaSeconds());
+
+        Query query = Query.query(Criteria.where("status").in(JobStatus.QUEUED, JobStatus.RUNNING)
+                        .and("createdAt").lt(cutoff)
+                        .and("stageUpdatedAt").lt(cutoff)
+                        .orOperator(
+                                Criteria.where("queueHeartbeatAt").is(null),
+                                Criteria.where("queueHeartbeatAt").lt(cutoff)))
+                .withHint("ix_status_createdAt")
+                .limit(batchSize);
+        query.fields().include("_id", "userId", "status", "stage", "stageUpdatedAt", "requestedFromStage",
+                "reapCount", "queueHeartbeatAt");
+
+        List<GenerateJobEntity> candidates = mongoTemplate.find(query, GenerateJobEntity.class);
+        int reaped = 0;
+        for (GenerateJobEntity job : candidates) {
+            if (lastProgressOf(job).isBefore(now.minusSeconds(slaSecondsOf(job))) && reap(job)) {
+                reaped++;
+            }
+        }
+        if (reaped > 0) {
+            log.info("🧹 [JobReaper] 멈춘 Job 정리 | candidates={} | reaped={}", candidates.size(), reaped);
+        }
+    }
+
+    private boolean reap(GenerateJobEntity job) {
+        int reapCount = job.getReapCount() == null ? 0 : job.getReapCount();
+        return reapCount < maxRedispatch ? redispatch(job) : fail(job);
+    }
+
+    /**
+     * 재전송 (이전 시도 중단 후)
+     * - 시작 전(QUEUED + 재시도 아님): outbox 최초 요청 payload로 처음부터 → 프롬프트 전용 Job도 그대로 전송됨
+     * - 그 외: 같은 단계부터 재시도로 전환, JobRetryDispatcher가 전송
+     */
+    private boolean redispatch(GenerateJobEntity job) {
+        boolean neverStarted = job.getStatus() == JobStatus.QUEUED && job.getRequestedFromStage() == null;
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update().set("status", JobStatus.QUEUED);
+        if (!neverStarted) {
+            update.set("requestedFromStage", job.getStage())
+                    .unset("retryDispatchedAt");
+        }
+        update
+                .set("stageUpdatedAt", now)
+                .set("updatedAt", now)
+                .inc("reapCount", 1)
+                .inc("revision", 1);
+
+        GenerateJobEntity updated = casUpdate(job, update);
+        if (updated == null) {
+            return false;
+        }
+        log.warn("⏱️ [JobReaper] 시간 초과 → 재전송 | jobId={} | status={} | stage={} | stageUpdatedAt={}",
+                job.getId(), job.getStatus(), job.getStage(), job.getStageUpdatedAt());
+        redispatchedCounter.increment();
+        jobStatusPublisher.publish(updated);
+        // 이전 시도가 아직 어딘가에서 돌고 있으면 먼저 중단 (로컬 파이프라인 dispose / SQS CANCEL)
+        // → 같은 Job을 두 곳에서 동시에 처리하지 않음
+        jobCancellationRegistry.cancel(job.getId());
+        if (neverStarted) {
+            jobOutboxRelay.restart(job);
+        } else {
+            jobRetryDispatcher.dispatch(job.getId());
+        }
+        return true;
+    }
+
+    private boolean fail(GenerateJobEntity job) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", JobStatus.FAILED)
+                .set("errorMessage", "작업 시간 초과 (stage=" + job.getStage() + ")")
+                .set("stageUpdatedAt", now)
+                .set("updatedAt", now)
+                .inc("revision", 1);
+
+        GenerateJobEntity updated = casUpdate(job, update);
+        if (updated == null) {
+            return false;
+        }
+        log.warn("⏱️ [JobReaper] 시간 초과 → 실패 처리 | jobId={} | status={} | stage={} | reapCount={}",
+                job.getId(), job.getStatus(), job.getStage(), job.getReapCount());
+        failedCounter.increment();
+        jobStatusPublisher.publish(updated);
+        // 아직 살아있는 작업이 있으면 중단 (로컬 파이프라인 dispose / SQS CANCEL)
+        jobCancellationRegistry.cancel(job.getId());
+        return true;
+    }
+
+    /**
+     * 조회 이후 상태/단계 갱신이 없었던 경우에만 반영
+     */
+    private GenerateJobEntity casUpdate(GenerateJobEntity job, Update update) {
+        Query query = Query.query(Criteria.where("_id").is(job.getId())
+                .and("status").is(job.getStatus())
+                .and("stageUpdatedAt").is(job.getStageUpdatedAt()));
+        query.fields().include("status", "stage", "errorMessage", "updatedAt");
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, GenerateJobEntity.class);
+    }
+
+    /**
+     * 대기열 heartbeat가 더 최근이면 그 시각 기준 (스케줄러 대기열에서 기다리는 중)
+     */
+    private LocalDateTime lastProgressOf(GenerateJobEntity job) {
+        LocalDateTime heartbeat = job.getQueueHeartbeatAt();
+        return heartbeat != null && heartbeat.isAfter(job.getStageUpdatedAt()) ? heartbeat : job.getStageUpdatedAt();
+    }
+
+    private long slaSecondsOf(GenerateJobEntity job) {
+        if (job.getStatus() == JobStatus.QUEUED) {
+            return queuedSlaSeconds;
+        }
+        if (job.getStage() == null) {
+            return previewSlaSeconds;
+        }
+        return switch (job.getStage()) {
+            case THREE_D_PREVIEW -> previewSlaSeconds;
+            case MODEL -> modelSlaSeconds;
+            case BLUEPRINT, DONE -> blueprintSlaSeconds;
+        };
+    }
+
+    private long minSlaSeconds() {
+        return Math.min(Math.min(queuedSlaSeconds, previewSlaSeconds), Math.min(modelSlaSeconds, blueprintSlaSeconds));
+    }
+}
@@ -1,37 +1,85 @@
 package com.brickers.backend.kids.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/generated")
-@RequiredArgsConstructor
 @Slf4j
 public class GeneratedProxyController {
 
+    /** AI 서버로 전달하는 요청 헤더 (부분 요청 / 조건부 요청) */
+    private static final List<String> FORWARD_REQUEST_HEADERS = List.of(
+            HttpHeaders.RANGE, HttpHeaders.IF_RANGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    /** 브라우저로 돌려주는 응답 헤더 (hop-by-hop 헤더 제외) */
+    private static final List<String> FORWARD_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE,
+            HttpHeaders.ACCEPT_RANGES, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+    /** 스트리밍 시 미리 요청해 두는 DataBuffer 수 (연결당 메모리 상한) */
+    private static final int STREAM_DEMAND = 4;
+
     private final WebClient aiWebClient;
+    private final AsyncTaskExecutor streamingExecutor;
 
     @Value("${AI_SERVER_URL}")
     private String aiServerUrl;
 
+    @Value("${app.generated-proxy.header-timeout-seconds:30}")
+    private long headerTimeoutSeconds;
+
+    @Value("${app.generated-proxy.stream-timeout-seconds:300}")
+    private long streamTimeoutSeconds;
+
+    public GeneratedProxyController(WebClient aiWebClient,
+            @Qualifier("streamingExecutor") AsyncTaskExecutor streamingExecutor) {
+        this.aiWebClient = aiWebClient;
+        this.streamingExecutor = streamingExecutor;
+    }
+
     /**
      * AI 서버의 로컬 파일(generated)을 프록시하여 제공
      * 예: /api/generated/req_123/corrected.png ->
      * AI_SERVER_URL/api/generated/req_123/corrected.png
+     *
+     * - 본문은 메모리에 모으지 않고 DataBuffer 단위로 응답 스트림에 바로 전달
+     * - Range / If-None-Match 등을 그대로 전달 → 206 / 304 도 AI 서버 응답 그대로
+     * - 전용 executor(streamingExecutor)에서 실행 + 전체 전송 시간 상한 (다른 async 요청의 executor/timeout은 그대로)
      */
     @GetMapping("/**")
-    public ResponseEntity<Resource> proxyGeneratedFile(HttpServletRequest request) {
+    public WebAsyncTask<ResponseEntity<Void>> proxyGeneratedFile(HttpServletRequest request,
+            HttpServletResponse response) {
+        return new WebAsyncTask<>(streamTimeoutSeconds * 1000L, streamingExecutor,
+                () -> proxy(request, response));
+    }
+
+    /**
+     * 본문까지 직접 쓴 경우 null 반환 (응답 처리 완료)
+     */
+    private ResponseEntity<Void> proxy(HttpServletRequest request, HttpServletResponse response) throws Exception {
         // Request URL로부터 /api/generated 이후 경로 추출
         String requestUri = request.getRequestURI();
         String path = requestUri.replace("/api/generated", "");
@@ -40,38 +88,59 @@ public class GeneratedProxyController {
         // AI 서버 URL이 /api/generated를 포함하지 않는다고 가정하고 전체 경로 구성
         String targetUrl = "/api/generated" + path;
 
-        log.info("🔄 [Proxy] Attempting to proxy: {}", targetUrl);
-
+        ResponseEntity<Flux<DataBuffer>> upstream;
         try {
-            // WebClient를 사용하여 AI 서버로부터 파일 다운로드 (동기 처리)
-            ResponseEntity<byte[]> response = aiWebClient.get()
+            // 상태/헤더까지만 기다림 - 본문은 아래 StreamingResponseBody에서 소비
+            upstream = aiWebClient.get()
                     .uri(targetUrl)
+                    .headers(headers -> FORWARD_REQUEST_HEADERS.forEach(name -> {
+                        String value = request.getHeader(name);
+                        if (value != null) {
+                            headers.set(name, value);
+                        }
+                    }))
                     .retrieve()
-                    .toEntity(byte[].class)
-                    .block(); // Blocking for MVC
-
-            if (response == null || response.getBody() == null) {
-                log.warn("❌ [Proxy] AI Server returned empty body for: {}", targetUrl);
-                return ResponseEntity.notFound().build();
-            }
+                    .onStatus(HttpStatusCode::isError, response -> Mono.empty()) // 404/416도 그대로 전달
+                    .toEntityFlux(DataBuffer.class)
+                    .block(Duration.ofSeconds(headerTimeoutSeconds));
+        } catch (Exception e) {
+            log.error("❌ [Proxy] Failed to fetch from AI Server ({}): {}", targetUrl, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.putAll(response.getHeaders());
+        if (upstream == null) {
+            log.warn("❌ [Proxy] AI Server returned empty response for: {}", targetUrl);
+            return ResponseEntity.notFound().build();
+        }
 
-            // Content-Length 재설정
-            headers.setContentLength(response.getBody().length);
+        HttpHeaders upstreamHeaders = upstream.getHeaders();
+        HttpHeaders headers = new HttpHeaders();
+        FORWARD_RESPONSE_HEADERS.forEach(name -> {
+            List<String> values = upstreamHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        });
 
-            ByteArrayResource resource = new ByteArrayResource(response.getBody());
+        Flux<DataBuffer> body = upstream.getBody();
+        if (body == null || upstream.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            if (body != null) {
+                body.subscribe(DataBufferUtils::release);
+            }
+            return ResponseEntity.status(upstream.getStatusCode()).headers(headers).build();
+        }
 
-            log.info("✅ [Proxy] Success: {} bytes", response.getBody().length);
+        log.debug("🔄 [Proxy] {} | status={}", targetUrl, upstream.getStatusCode());
 
-            return ResponseEntity.status(response.getStatusCode())
-                    .headers(headers)
-                    .body(resource);
+        response.setStatus(upstream.getStatusCode().value());
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
 
-        } catch (Exception e) {
-            log.error("❌ [Proxy] Failed to fetch from AI Server ({}): {}", targetUrl, e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        // 연결 끊김 등으로 중단되면 close 시 AI 서버 요청도 취소됨
+        try (InputStream in = DataBufferUtils.subscriberInputStream(body, STREAM_DEMAND)) {
+            OutputStream out = response.getOutputStream();
+            in.transferTo(out);
+            out.flush();
         }
+        return null;
     }
 }
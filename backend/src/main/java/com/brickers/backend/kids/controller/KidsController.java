@@ -1,7 +1,9 @@
 package com.brickers.backend.kids.controller;
 
+import com.brickers.backend.common.ratelimit.RateLimited;
 import com.brickers.backend.kids.dto.KidsGenerateRequest;
 import com.brickers.backend.kids.service.KidsService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -25,9 +27,11 @@ public class KidsController {
     /**
      * 🚀 브릭 생성 요청
      */
+    @RateLimited("kids-generate")
     @PostMapping(value = "/generate", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> generateBrick(
             Authentication authentication,
+            HttpServletRequest httpRequest,
             @RequestBody KidsGenerateRequest request) {
         log.info("[KidsController] 브릭 생성 요청: title={}", request.getTitle());
 
@@ -38,7 +42,7 @@ public class KidsController {
         Map<String, Object> result = kidsService.startGeneration(
                 userId, request.getSourceImageUrl(), request.getAge(),
                 request.getBudget(), request.getTitle(),
-                request.getPrompt(), request.getLanguage());
+                request.getPrompt(), request.getLanguage(), httpRequest.getRemoteAddr());
 
         return ResponseEntity.ok(result);
     }
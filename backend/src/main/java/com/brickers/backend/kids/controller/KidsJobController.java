@@ -1,11 +1,15 @@
 package com.brickers.backend.kids.controller;
 
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.kids.dto.QueuePositionResponse;
 import com.brickers.backend.kids.service.KidsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -24,18 +28,47 @@ public class KidsJobController {
 
     /**
      * Job 상태 조회
+     * - If-None-Match가 현재 revision과 같으면 본문 없이 304 (revision만 조회)
      */
     @GetMapping("/{jobId}")
-    public ResponseEntity<?> getJobStatus(@PathVariable String jobId) {
-        return ResponseEntity.ok(kidsService.getJobStatus(jobId));
+    public ResponseEntity<?> getJobStatus(
+            @PathVariable String jobId,
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        if (kidsService.isJobNotModified(jobId, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch).build();
+        }
+        GenerateJobEntity job = kidsService.getJobStatus(jobId);
+        return ResponseEntity.ok().eTag(kidsService.jobEtag(job)).body(job);
+    }
+
+    /**
+     * 생성 대기열 위치 / 예상 대기 시간
+     * - 이미 AI 파이프라인으로 전송된 Job은 queued=false
+     */
+    @GetMapping("/{jobId}/queue")
+    public QueuePositionResponse getQueuePosition(@PathVariable String jobId) {
+        return kidsService.getQueuePosition(jobId);
+    }
+
+    /**
+     * Job 상태/단계 변경 SSE 스트리밍 (폴링 대체)
+     * - 연결 직후 현재 상태 1회, 이후 변경 시마다 job-status 이벤트
+     * - DONE/FAILED/CANCELED 도달 시 서버가 연결 종료
+     */
+    @GetMapping(value = "/{jobId}/status/stream", produces = "text/event-stream;charset=UTF-8")
+    public SseEmitter streamJobStatus(@PathVariable String jobId) {
+        return kidsService.subscribeJobStatus(jobId);
     }
 
     /**
      * 프론트엔드 SSE 스트리밍 (AI 에이전트 로그)
+     * - 재연결 시 Last-Event-ID 이후 로그만 재전송
      */
     @GetMapping(value = "/{jobId}/logs/stream", produces = "text/event-stream;charset=UTF-8")
-    public SseEmitter streamAgentLogs(@PathVariable String jobId) {
-        return kidsService.subscribeAgentLogs(jobId);
+    public SseEmitter streamAgentLogs(
+            @PathVariable String jobId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return kidsService.subscribeAgentLogs(jobId, lastEventId);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.brickers.backend.kids.controller;
 
+import com.brickers.backend.common.ratelimit.RateLimited;
 import com.brickers.backend.kids.service.KidsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ public class KidsShareController {
     /**
      * 배경 생성 및 합성 (공유용)
      */
+    @RateLimited("kids-background")
     @PostMapping(value = "/background", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createBackground(
             @RequestParam("file") MultipartFile file,
@@ -0,0 +1,79 @@
+package com.brickers.backend.kids.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 서버 생성 결과 (process-all HTTP 응답 / SQS RESULT 공통 스키마)
+ *
+ * - 모르는 필드는 무시 → AI 서버가 필드를 추가해도 호환
+ * - schemaVersion이 지원 버전보다 크면 경고만 남기고 아는 필드만 반영
+ * - null 필드는 "변경 없음" (기존 값 유지)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AiProcessResult {
+
+    /** 현재 백엔드가 이해하는 결과 스키마 버전 */
+    public static final int SUPPORTED_SCHEMA_VERSION = 1;
+
+    /** 결과 스키마 버전 (없으면 1) */
+    private Integer schemaVersion;
+
+    /** false면 실패 (HTTP 응답은 생략 가능 - 성공으로 간주) */
+    private Boolean success;
+    private String errorMessage;
+
+    /** 결과 버전 (같은 Job 재실행마다 증가, SQS 중복 반영 방지 키) */
+    private Integer resultVersion;
+
+    // 산출물 URL
+    private String correctedUrl;
+    /** SQS 메시지 키는 glbUrl (HTTP 응답의 modelUrl도 허용) */
+    @JsonProperty("glbUrl")
+    @JsonAlias("modelUrl")
+    private String modelUrl;
+    private String ldrUrl;
+    private String initialLdrUrl;
+    private String bomUrl;
+    private String pdfUrl;
+    private String backgroundUrl;
+
+    // 통계
+    private Integer parts;
+    private Integer finalTarget;
+    private Integer stabilityScore;
+    private Integer lmmLatency;
+
+    // 메타데이터
+    private String subject;
+    @JsonAlias("tags")
+    private List<String> suggestedTags;
+    private String imageCategory;
+    private Map<String, String> screenshots;
+
+    // 비용
+    private Integer tokenCount;
+    private Double estCost;
+
+    public boolean isFailed() {
+        return Boolean.FALSE.equals(success);
+    }
+
+    public boolean isNewerSchema() {
+        return schemaVersion != null && schemaVersion > SUPPORTED_SCHEMA_VERSION;
+    }
+}
@@ -0,0 +1,21 @@
+package com.brickers.backend.kids.dto;
+
+import com.brickers.backend.job.entity.JobStage;
+import com.brickers.backend.job.entity.JobStatus;
+
+/**
+ * Job 상태 스냅샷 (SSE job-status 이벤트용)
+ *
+ * @param version updatedAt(ms) - SSE event id / 역순 도착 판별
+ */
+public record JobStatusSnapshot(
+        String jobId,
+        JobStatus status,
+        JobStage stage,
+        String errorMessage,
+        long version) {
+
+    public boolean isTerminal() {
+        return status == JobStatus.DONE || status == JobStatus.FAILED || status == JobStatus.CANCELED;
+    }
+}
@@ -0,0 +1,22 @@
+package com.brickers.backend.kids.dto;
+
+import com.brickers.backend.user.entity.MembershipPlan;
+
+/**
+ * 생성 대기열 위치 (이 인스턴스 스케줄러 기준 추정치)
+ *
+ * @param queued               아직 AI 파이프라인으로 보내지 않았으면 true
+ * @param position             1부터 시작하는 예상 순번 (queued=false면 0)
+ * @param estimatedWaitSeconds 예상 대기 시간 (최근 평균 처리 시간 기반)
+ */
+public record QueuePositionResponse(
+        String jobId,
+        boolean queued,
+        int position,
+        long estimatedWaitSeconds,
+        MembershipPlan plan) {
+
+    public static QueuePositionResponse notQueued(String jobId) {
+        return new QueuePositionResponse(jobId, false, 0, 0L, null);
+    }
+}
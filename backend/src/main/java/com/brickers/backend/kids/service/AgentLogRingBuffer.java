@@ -0,0 +1,103 @@
+package com.brickers.backend.kids.service;
+
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 📜 AgentLogRingBuffer
+ * Job 하나의 에이전트 로그를 보관하는 고정 크기 lock-free 링 버퍼.
+ *
+ * - add는 순번 예약(getAndIncrement) → 슬롯에 (순번, 로그) CAS 기록 (O(1), 락/대기 없음)
+ *   → 앞선 writer가 멈춰 있어도 뒤 writer는 기다리지 않음, 늦은 writer가 더 새 로그를 덮지도 않음
+ * - since는 슬롯의 순번이 읽으려는 순번과 같을 때만 사용
+ *   → 예약만 되고 아직 안 채워진 슬롯(이전 바퀴 로그), 이미 다음 바퀴 로그로 덮인 슬롯은 건너뜀
+ *   (진행 중인 writer의 로그는 그 writer가 끝난 뒤 live 전송으로 전달됨)
+ * - 로그 id는 발행한 인스턴스가 한 번 부여한 ObjectId (시각 + 인스턴스 + 카운터)
+ *   → 모든 인스턴스에서 같은 로그는 같은 id, SSE event id로 그대로 사용
+ * - 용량을 넘으면 가장 오래된 로그부터 덮어씀
+ */
+class AgentLogRingBuffer {
+
+    /** 로그 한 건 (문자열 포맷은 전송 시점에만) */
+    record Entry(ObjectId id, String step, String message) {
+        String format() {
+            return "[" + step + "] " + message;
+        }
+    }
+
+    /** 슬롯 값 - seq는 이 로그가 받은 순번 (슬롯 위치 = seq % capacity) */
+    private record Slot(long seq, Entry entry) {
+    }
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    /** 다음 순번 (예약) */
+    private final AtomicLong reserved = new AtomicLong();
+    private volatile long lastWriteAt = System.currentTimeMillis();
+
+    AgentLogRingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 로그 추가
+     * - add 반환 시점에는 (덮어써지기 전까지) 이 로그가 반드시 since 결과에 포함됨
+     */
+    void add(Entry entry) {
+        long seq = reserved.getAndIncrement();
+        int index = (int) (seq % capacity);
+        Slot slot = new Slot(seq, entry);
+        lastWriteAt = System.currentTimeMillis();
+        Slot current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.seq() > seq) {
+                return; // 한 바퀴 넘게 늦은 writer → 이미 더 새 로그가 있으므로 덮어쓰지 않음
+            }
+        } while (!slots.compareAndSet(index, current, slot));
+    }
+
+    /**
+     * afterId 이후의 로그 (이 인스턴스 도착 순)
+     * - afterId가 버퍼에 있으면 그 뒤 전부
+     * - 없으면(덮어써짐 / 다른 인스턴스에서 재연결) id 순서상 afterId보다 뒤인 로그만
+     * - afterId가 null이면 버퍼 전체
+     */
+    List<Entry> since(ObjectId afterId) {
+        long head = reserved.get();
+        long from = Math.max(0L, head - capacity);
+
+        List<Entry> entries = new ArrayList<>((int) (head - from));
+        int afterIndex = -1;
+        for (long i = from; i < head; i++) {
+            Slot slot = slots.get((int) (i % capacity));
+            if (slot == null || slot.seq() != i) {
+                continue;
+            }
+            Entry entry = slot.entry();
+            entries.add(entry);
+            if (entry.id().equals(afterId)) {
+                afterIndex = entries.size() - 1;
+            }
+        }
+
+        if (afterId == null) {
+            return entries;
+        }
+        if (afterIndex >= 0) {
+            return new ArrayList<>(entries.subList(afterIndex + 1, entries.size()));
+        }
+        return entries.stream()
+                .filter(entry -> entry.id().compareTo(afterId) > 0)
+                .toList();
+    }
+
+    long lastWriteAt() {
+        return lastWriteAt;
+    }
+}
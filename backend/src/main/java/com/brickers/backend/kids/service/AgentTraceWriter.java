@@ -0,0 +1,181 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.kids.entity.AgentTrace;
+import com.brickers.backend.kids.repository.AgentTraceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🗂️ AgentTraceWriter
+ * 에이전트 트레이스 write-behind 버퍼.
+ *
+ * - 요청 스레드는 bounded queue에 넣기만 하고 즉시 반환
+ * - 전용 스레드가 flush-interval(ms) 또는 batch-size(건) 중 먼저 도달한 시점에 insertMany
+ * - 큐가 가득 차면 offer-timeout 만큼만 기다렸다가 버림 (drop 메트릭 기록)
+ * - 종료 시 남은 트레이스 모두 flush
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgentTraceWriter implements SmartLifecycle {
+
+    private final AgentTraceRepository agentTraceRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.agent-trace.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.agent-trace.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.agent-trace.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    /** 큐가 가득 찼을 때 요청 스레드가 기다리는 최대 시간 (0이면 바로 drop) */
+    @Value("${app.agent-trace.offer-timeout-ms:0}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<AgentTrace> queue;
+    private Thread flusher;
+    private volatile boolean running = false;
+
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+    private DistributionSummary batchSummary;
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("agent.trace.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 트레이스 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("agent.trace.dropped")
+                .description("큐 overflow로 버려진 트레이스 수")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("agent.trace.written")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("agent.trace.write.failed")
+                .register(meterRegistry);
+        batchSummary = DistributionSummary.builder("agent.trace.batch.size")
+                .register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "agent-trace-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("✅ [AgentTraceWriter] 시작 | capacity={} | batchSize={} | flushInterval={}ms",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("🛑 [AgentTraceWriter] 종료 | remaining={}", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 트레이스 저장 요청 (비동기)
+     *
+     * @return false면 큐 overflow로 버려짐
+     */
+    public boolean enqueue(AgentTrace trace) {
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMs > 0
+                    ? queue.offer(trace, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(trace);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            droppedCounter.increment();
+            log.warn("⚠️ [AgentTraceWriter] 큐 가득 참 - 트레이스 버림 | jobId={} | step={}",
+                    trace.getJobId(), trace.getStep());
+        }
+        return accepted;
+    }
+
+    private void flushLoop() {
+        List<AgentTrace> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AgentTrace first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // 종료 시 남은 트레이스 모두 저장
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * batch-size에 도달하거나 deadline이 지날 때까지 배치 채우기
+     */
+    private void fillBatch(List<AgentTrace> batch, long deadlineNanos) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            AgentTrace next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<AgentTrace> batch) {
+        try {
+            agentTraceRepository.insert(batch);
+            writtenCounter.increment(batch.size());
+            batchSummary.record(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("[AgentTrace] DB 일괄 저장 실패 | count={} | error={}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+}
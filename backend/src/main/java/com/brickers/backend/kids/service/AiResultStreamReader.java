@@ -0,0 +1,216 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.kids.dto.AiProcessResult;
+import com.brickers.backend.upload_s3.service.StorageService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 📥 AiResultStreamReader
+ * AI 서버 process-all 응답을 버퍼링 없이 스트림으로 해석합니다.
+ *
+ * - 일반 필드는 토큰 그대로 TokenBuffer에 옮긴 뒤 AiProcessResult로 바로 바인딩 (중간 Map 없음)
+ * - ldrData(data URL base64)는 문자열 값을 raw 바이트로 바로 넘겨 Base64 디코더 → 멀티파트 업로드
+ *   → 응답 전체/문자열/디코딩된 byte[] 어느 것도 통째로 힙에 올리지 않음
+ * - blocking 파싱이므로 kidsScheduler(동시 실행 수 제한 kidsExecutor)에서 실행
+ */
+@Slf4j
+@Component
+public class AiResultStreamReader {
+
+    private static final String LDR_FIELD = "ldrData";
+
+    /** 파서를 닫아도 원본 스트림은 닫지 않음 (ldrData 이후 이어서 읽기 위해) */
+    private static final ObjectMapper MAPPER = new ObjectMapper(JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build());
+
+    /** 바인딩용 reader (deserializer 캐시 재사용) */
+    private static final ObjectReader RESULT_READER = MAPPER.readerFor(AiProcessResult.class);
+
+    private final StorageService storageService;
+    private final Scheduler kidsScheduler;
+
+    public AiResultStreamReader(StorageService storageService, @Qualifier("kidsScheduler") Scheduler kidsScheduler) {
+        this.storageService = storageService;
+        this.kidsScheduler = kidsScheduler;
+    }
+
+    /**
+     * 응답 해석 - ldrData를 업로드했으면 그 URL이 ldrUrl에 채워짐
+     */
+    public Mono<AiProcessResult> read(Flux<DataBuffer> body, String userId) {
+        return Mono.fromCallable(() -> {
+            try (InputStream in = DataBufferUtils.subscriberInputStream(body, 4)) {
+                return parse(in, userId);
+            }
+        }).subscribeOn(kidsScheduler);
+    }
+
+    private AiProcessResult parse(InputStream in, String userId) throws IOException {
+        String ldrUrl = null;
+
+        JsonParser parser = MAPPER.createParser(in);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("AI 서버 응답이 비어 있음");
+        }
+
+        TokenBuffer fields = new TokenBuffer(MAPPER, false);
+        fields.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (LDR_FIELD.equals(name) && value == JsonToken.VALUE_STRING) {
+                // 문자열 토큰은 아직 읽히지 않은 상태 → 파서가 미리 읽어둔 바이트 + 원본 스트림 = 문자열 내용부터
+                ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+                parser.releaseBuffered(buffered);
+                parser.close();
+                PushbackInputStream rest = new PushbackInputStream(new BufferedInputStream(
+                        new SequenceInputStream(new ByteArrayInputStream(buffered.toByteArray()), in), 64 * 1024));
+
+                ldrUrl = storeLdr(userId, new JsonStringInputStream(rest));
+
+                // 남은 필드는 "{" + (앞의 ',' 제거) 로 이어서 파싱
+                parser = MAPPER.createParser(new SequenceInputStream(
+                        new ByteArrayInputStream(new byte[] { '{' }), skipSeparator(rest)));
+                parser.nextToken();
+                continue;
+            }
+            fields.writeFieldName(name);
+            fields.copyCurrentStructure(parser);
+        }
+        parser.close();
+        fields.writeEndObject();
+
+        AiProcessResult result = RESULT_READER.readValue(fields.asParser());
+        if (ldrUrl != null) {
+            result.setLdrUrl(ldrUrl);
+        }
+        return result;
+    }
+
+    /**
+     * data URL 헤더를 건너뛰고 base64 본문을 스트리밍 디코딩해 업로드
+     * - 실패해도 문자열 끝까지 소비 (이후 필드 파싱을 위해), 기존 ldrUrl 유지
+     */
+    private String storeLdr(String userId, JsonStringInputStream value) throws IOException {
+        try {
+            if (!skipDataUrlHeader(value)) {
+                return null;
+            }
+            InputStream decoded = Base64.getDecoder().wrap(value);
+            return storageService.storeStream(userId, "result.ldr", decoded, "text/plain").url();
+        } catch (RuntimeException | IOException e) {
+            log.warn("[AiResultStreamReader] LDR base64 처리 실패: {}", e.getMessage());
+            return null;
+        } finally {
+            value.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    /**
+     * "data:...," 까지 읽음 - data URL이 아니면 false
+     */
+    private boolean skipDataUrlHeader(InputStream value) throws IOException {
+        byte[] scheme = value.readNBytes(5);
+        if (!"data:".equals(new String(scheme, StandardCharsets.US_ASCII))) {
+            return false;
+        }
+        int b;
+        while ((b = value.read()) != -1) {
+            if (b == ',') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private InputStream skipSeparator(PushbackInputStream rest) throws IOException {
+        int b;
+        do {
+            b = rest.read();
+        } while (b == ' ' || b == '\n' || b == '\r' || b == '\t');
+        if (b != ',' && b != -1) {
+            rest.unread(b);
+        }
+        return rest;
+    }
+
+    /**
+     * JSON 문자열 값의 내용만 읽는 스트림 (닫는 따옴표에서 EOF)
+     * - base64/data URL에 나올 수 있는 이스케이프(\/)만 허용
+     */
+    private static final class JsonStringInputStream extends InputStream {
+        private final InputStream source;
+        private boolean ended = false;
+
+        private JsonStringInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (ended) {
+                return -1;
+            }
+            int b = source.read();
+            if (b == -1) {
+                throw new IOException("ldrData 문자열이 끝나지 않음");
+            }
+            if (b == '"') {
+                ended = true;
+                return -1;
+            }
+            if (b == '\\') {
+                int escaped = source.read();
+                if (escaped != '/' && escaped != '\\') {
+                    throw new IOException("ldrData에 허용되지 않는 이스케이프: \\" + (char) escaped);
+                }
+                return escaped;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            while (n < len) {
+                int b = read();
+                if (b == -1) {
+                    break;
+                }
+                buf[off + n++] = (byte) b;
+            }
+            return n == 0 ? -1 : n;
+        }
+    }
+}
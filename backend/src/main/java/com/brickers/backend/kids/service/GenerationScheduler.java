@@ -0,0 +1,561 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobEvent;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobEventBus;
+import com.brickers.backend.kids.dto.QueuePositionResponse;
+import com.brickers.backend.user.entity.MembershipPlan;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🚦 GenerationScheduler
+ * 생성 요청을 SQS/워커로 보내기 전에 플랜별·유저별 대기열에서 공정하게 꺼냅니다.
+ *
+ * - 플랜 사이: weighted round robin (PRO 가중치가 높음) → 부하가 몰려도 PRO 대기 시간이 거의 일정
+ * - 같은 플랜 안: 유저 단위 round robin → 한 유저가 여러 건을 넣어도 다른 유저를 굶기지 않음
+ * - 동시 진행 수: 인스턴스당 max-active + 유저별 상한, 종료(DONE/FAILED/CANCELED) 이벤트로 슬롯 반환
+ *   (다른 인스턴스에서 끝나 이벤트를 못 받은 경우는 release-poll 주기로 DB 상태를 확인해 반환)
+ * - 대기열은 인스턴스 메모리 기준 - 대기 중에는 heartbeat를 남기고, 인스턴스가 죽어 끊기면 StuckJobReaper가 재전송
+ */
+@Slf4j
+@Component
+public class GenerationScheduler {
+
+    /** 대기 중인 요청 - dispatch는 실제 전송 (SQS 또는 워커) */
+    public record Ticket(String jobId, String userKey, MembershipPlan plan, Runnable dispatch) {
+    }
+
+    private record Queued(Ticket ticket, long enqueuedAt) {
+    }
+
+    private record Active(String userKey, MembershipPlan plan, long startedAt) {
+    }
+
+    private final JobEventBus jobEventBus;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<MembershipPlan, PlanQueue> plans = new EnumMap<>(MembershipPlan.class);
+    private final Map<String, Queued> queuedById = new HashMap<>();
+    private final Map<String, Active> activeByJob = new HashMap<>();
+    private final Map<String, Integer> activeByUser = new HashMap<>();
+    private final Map<MembershipPlan, Timer> waitTimers = new EnumMap<>(MembershipPlan.class);
+
+    /** 최근 처리 시간 EWMA (ms) - 예상 대기 시간 계산용 */
+    private volatile double avgServiceMillis;
+
+    /** pump는 단일 스레드, 대기 1건까지만 (그 이상은 합쳐짐) */
+    private final ThreadPoolExecutor pumpExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            r -> {
+                Thread t = new Thread(r, "generation-scheduler");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /** 전송 거절 후 지연 pump 예약 여부 (여러 건이 거절돼도 한 번만) */
+    private final AtomicBoolean retryPumpScheduled = new AtomicBoolean();
+
+    @Value("${app.generation-scheduler.max-active:1000}")
+    private int maxActive;
+
+    @Value("${app.generation-scheduler.max-queued:2000}")
+    private int maxQueued;
+
+    @Value("${app.generation-scheduler.per-user-max-queued:5}")
+    private int perUserMaxQueued;
+
+    @Value("${app.generation-scheduler.weight.pro:4}")
+    private int proWeight;
+
+    @Value("${app.generation-scheduler.weight.free:1}")
+    private int freeWeight;
+
+    @Value("${app.generation-scheduler.per-user-max-active.pro:3}")
+    private int proUserMaxActive;
+
+    @Value("${app.generation-scheduler.per-user-max-active.free:1}")
+    private int freeUserMaxActive;
+
+    @Value("${app.generation-scheduler.default-service-seconds:180}")
+    private long defaultServiceSeconds;
+
+    @Value("${app.generation-scheduler.active-timeout-seconds:1800}")
+    private long activeTimeoutSeconds;
+
+    @Value("${app.generation-scheduler.rejected-retry-ms:2000}")
+    private long rejectedRetryMillis;
+
+    public GenerationScheduler(JobEventBus jobEventBus, MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.jobEventBus = jobEventBus;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        plans.put(MembershipPlan.PRO, new PlanQueue(proWeight, proUserMaxActive));
+        plans.put(MembershipPlan.FREE, new PlanQueue(freeWeight, freeUserMaxActive));
+        avgServiceMillis = defaultServiceSeconds * 1000.0;
+
+        for (MembershipPlan plan : MembershipPlan.values()) {
+            Gauge.builder("generation.scheduler.queued", this, s -> s.queuedCount(plan))
+                    .tag("plan", plan.name())
+                    .register(meterRegistry);
+            waitTimers.put(plan, Timer.builder("generation.scheduler.wait")
+                    .description("대기열 진입 → 전송까지 시간")
+                    .tag("plan", plan.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("generation.scheduler.active", this, s -> s.activeCount())
+                .register(meterRegistry);
+
+        jobEventBus.subscribe(this::onJobEvent);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pumpExecutor.shutdown();
+    }
+
+    /**
+     * 대기열에 추가 (한도 초과 시 TaskRejectedException → 503)
+     * - 같은 jobId는 한 번만 대기 (이미 대기 중이면 위치만 반환)
+     * - 같은 jobId가 진행 슬롯을 잡고 있으면(전송 실패 후 outbox 재시도) 그 슬롯부터 반환
+     */
+    public QueuePositionResponse enqueue(Ticket ticket) {
+        synchronized (this) {
+            if (queuedById.containsKey(ticket.jobId())) {
+                return positionOf(ticket.jobId());
+            }
+            release(ticket.jobId(), false);
+            if (queuedById.size() >= maxQueued) {
+                throw new TaskRejectedException("생성 대기열이 가득 참 (limit=" + maxQueued + ")");
+            }
+            PlanQueue planQueue = plans.get(planOf(ticket.plan()));
+            if (planQueue.queuedOf(ticket.userKey()) >= perUserMaxQueued) {
+                throw new TaskRejectedException("유저별 대기 한도 초과 (limit=" + perUserMaxQueued + ")");
+            }
+            planQueue.add(ticket);
+            queuedById.put(ticket.jobId(), new Queued(ticket, System.currentTimeMillis()));
+        }
+        schedulePump();
+        return positionOf(ticket.jobId());
+    }
+
+    /**
+     * 대기열 위치/예상 대기 시간
+     * - 같은 플랜: 앞선 유저들이 내 차례 전까지 round robin으로 꺼낼 건수
+     * - 다른 플랜: 그동안 가중치 비율만큼 끼어드는 건수
+     */
+    public synchronized QueuePositionResponse positionOf(String jobId) {
+        Queued queued = queuedById.get(jobId);
+        if (queued == null) {
+            return QueuePositionResponse.notQueued(jobId);
+        }
+        Ticket ticket = queued.ticket();
+        MembershipPlan plan = planOf(ticket.plan());
+        PlanQueue own = plans.get(plan);
+
+        int aheadInPlan = own.aheadOf(ticket);
+        long aheadOther = 0;
+        for (Map.Entry<MembershipPlan, PlanQueue> e : plans.entrySet()) {
+            if (e.getKey() != plan) {
+                PlanQueue other = e.getValue();
+                long interleaved = (long) Math.ceil((aheadInPlan + 1) * (double) other.weight / own.weight);
+                aheadOther += Math.min(other.size(), interleaved);
+            }
+        }
+
+        int position = (int) (aheadInPlan + aheadOther + 1);
+        long waitMillis = (long) (position * avgServiceMillis / Math.max(1, maxActive));
+        return new QueuePositionResponse(jobId, true, position, waitMillis / 1000L, plan);
+    }
+
+    /**
+     * 전송 실패로 진행 슬롯 반환 (outbox가 backoff 후 다시 enqueue)
+     */
+    public void abandon(String jobId) {
+        boolean changed;
+        synchronized (this) {
+            changed = release(jobId, false);
+        }
+        if (changed) {
+            schedulePump();
+        }
+    }
+
+    private void onJobEvent(JobEvent event) {
+        if (event.getType() != JobEvent.Type.JOB_STATUS || !isTerminal(event.getStatus())) {
+            return;
+        }
+        boolean changed;
+        synchronized (this) {
+            changed = removeQueued(event.getJobId()) | release(event.getJobId(), true);
+        }
+        if (changed) {
+            schedulePump();
+        }
+    }
+
+    private void schedulePump() {
+        try {
+            pumpExecutor.execute(this::pump);
+        } catch (Exception e) {
+            log.warn("⚠️ [GenerationScheduler] pump 등록 실패 | error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 전송 거절 후 지연 pump - 진행 중인 슬롯이 없으면 슬롯 반환 이벤트도 없어 대기열이 멈추므로
+     * (kidsScheduler는 fromExecutor라 지연 실행을 못 함 → 지연 후 pump 스레드에서 실행)
+     */
+    private void scheduleRetryPump() {
+        if (!retryPumpScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.delayedExecutor(rejectedRetryMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            retryPumpScheduled.set(false);
+            if (!pumpExecutor.isShutdown()) {
+                schedulePump();
+            }
+        });
+    }
+
+    /**
+     * 여유 슬롯만큼 꺼내서 전송 (전송은 락 밖에서)
+     */
+    private void pump() {
+        while (true) {
+            Queued next;
+            synchronized (this) {
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                Ticket t = next.ticket();
+                occupy(t);
+            }
+
+            Ticket ticket = next.ticket();
+            waitTimers.get(planOf(ticket.plan()))
+                    .record(System.currentTimeMillis() - next.enqueuedAt(), TimeUnit.MILLISECONDS);
+            try {
+                ticket.dispatch().run();
+            } catch (TaskRejectedException e) {
+                // 하위 파이프라인 포화 → 맨 앞으로 되돌리고 다음 슬롯 반환 또는 지연 pump 때 재시도
+                log.warn("⚠️ [GenerationScheduler] 전송 거절 - 대기열 복귀 | jobId={}", ticket.jobId());
+                synchronized (this) {
+                    release(ticket.jobId(), false);
+                    plans.get(planOf(ticket.plan())).addFirst(ticket);
+                    queuedById.put(ticket.jobId(), next);
+                }
+                scheduleRetryPump();
+                return;
+            } catch (Exception e) {
+                log.error("❌ [GenerationScheduler] 전송 실패 | jobId={} | error={}", ticket.jobId(), e.getMessage(), e);
+                synchronized (this) {
+                    release(ticket.jobId(), false);
+                }
+            }
+        }
+    }
+
+    /**
+     * 플랜 간 smooth weighted round robin (유저 상한 때문에 꺼낼 수 없는 플랜은 제외)
+     */
+    private Queued pollNext() {
+        if (activeByJob.size() >= maxActive) {
+            return null;
+        }
+        int totalWeight = 0;
+        PlanQueue best = null;
+        for (PlanQueue planQueue : plans.values()) {
+            if (!planQueue.hasEligible()) {
+                continue;
+            }
+            planQueue.current += planQueue.weight;
+            totalWeight += planQueue.weight;
+            if (best == null || planQueue.current > best.current) {
+                best = planQueue;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        best.current -= totalWeight;
+        Ticket ticket = best.pollEligible();
+        return ticket == null ? null : queuedById.remove(ticket.jobId());
+    }
+
+    private boolean removeQueued(String jobId) {
+        Queued queued = queuedById.remove(jobId);
+        if (queued == null) {
+            return false;
+        }
+        plans.get(planOf(queued.ticket().plan())).remove(queued.ticket());
+        return true;
+    }
+
+    /**
+     * 진행 슬롯 점유 - 유저별 카운트는 activeByJob 변화에만 맞춰 증감 (같은 jobId 재점유 시 이중 계산 없음)
+     */
+    private void occupy(Ticket ticket) {
+        Active previous = activeByJob.put(ticket.jobId(),
+                new Active(ticket.userKey(), planOf(ticket.plan()), System.currentTimeMillis()));
+        if (previous != null) {
+            decrementUser(previous.userKey());
+        }
+        activeByUser.merge(ticket.userKey(), 1, Integer::sum);
+    }
+
+    private void decrementUser(String userKey) {
+        activeByUser.computeIfPresent(userKey, (k, n) -> n <= 1 ? null : n - 1);
+    }
+
+    private boolean release(String jobId, boolean completed) {
+        Active active = activeByJob.remove(jobId);
+        if (active == null) {
+            return false;
+        }
+        decrementUser(active.userKey());
+        if (completed) {
+            long elapsed = System.currentTimeMillis() - active.startedAt();
+            avgServiceMillis = avgServiceMillis * 0.9 + elapsed * 0.1;
+        }
+        return true;
+    }
+
+    /**
+     * 대기 중인 Job heartbeat (1분마다) - StuckJobReaper가 대기열의 QUEUED Job을 재전송하지 않도록
+     */
+    @Scheduled(fixedRate = 60000)
+    public void heartbeatQueued() {
+        List<String> jobIds;
+        synchronized (this) {
+            jobIds = new ArrayList<>(queuedById.keySet());
+        }
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(jobIds).and("status").is(JobStatus.QUEUED)),
+                new Update().set("queueHeartbeatAt", LocalDateTime.now()).inc("revision", 1),
+                GenerateJobEntity.class);
+    }
+
+    /**
+     * 진행 슬롯 중 DB에서 이미 종료된 Job 반환
+     * - 결과를 다른 인스턴스가 저장하고 이벤트 버스가 InProcess라 종료 이벤트가 오지 않는 경우 등
+     */
+    @Scheduled(fixedDelayString = "${app.generation-scheduler.release-poll-ms:10000}")
+    public void releaseFinishedSlots() {
+        List<String> jobIds;
+        synchronized (this) {
+            jobIds = new ArrayList<>(activeByJob.keySet());
+        }
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("_id").in(jobIds)
+                .and("status").in(JobStatus.DONE, JobStatus.FAILED, JobStatus.CANCELED));
+        query.fields().include("_id").include("status");
+        List<GenerateJobEntity> finished = mongoTemplate.find(query, GenerateJobEntity.class);
+        if (finished.isEmpty()) {
+            return;
+        }
+
+        int released = 0;
+        synchronized (this) {
+            for (GenerateJobEntity job : finished) {
+                if (release(job.getId(), true)) {
+                    released++;
+                }
+            }
+        }
+        if (released > 0) {
+            log.info("✅ [GenerationScheduler] 종료된 Job 슬롯 반환 | count={}", released);
+            schedulePump();
+        }
+    }
+
+    /**
+     * 종료 이벤트와 DB 확인 모두 놓친 슬롯 회수 (1분마다, 최후 수단)
+     */
+    @Scheduled(fixedRate = 60000)
+    public void reclaimExpiredSlots() {
+        long threshold = System.currentTimeMillis() - activeTimeoutSeconds * 1000L;
+        int reclaimed = 0;
+        synchronized (this) {
+            Iterator<Map.Entry<String, Active>> it = activeByJob.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Active> e = it.next();
+                if (e.getValue().startedAt() < threshold) {
+                    it.remove();
+                    decrementUser(e.getValue().userKey());
+                    reclaimed++;
+                }
+            }
+        }
+        if (reclaimed > 0) {
+            log.warn("⚠️ [GenerationScheduler] 만료 슬롯 회수 | count={}", reclaimed);
+            schedulePump();
+        }
+    }
+
+    private synchronized int queuedCount(MembershipPlan plan) {
+        return plans.get(plan).size();
+    }
+
+    private synchronized int activeCount() {
+        return activeByJob.size();
+    }
+
+    private static MembershipPlan planOf(MembershipPlan plan) {
+        return plan == null ? MembershipPlan.FREE : plan;
+    }
+
+    private static boolean isTerminal(JobStatus status) {
+        return status == JobStatus.DONE || status == JobStatus.FAILED || status == JobStatus.CANCELED;
+    }
+
+    /**
+     * 플랜 하나의 대기열 - 유저별 FIFO + 유저 순환 순서 (GenerationScheduler 락 안에서만 접근)
+     */
+    private final class PlanQueue {
+        private final int weight;
+        private final int userMaxActive;
+        private int current;
+        private final LinkedHashMap<String, ArrayDeque<Ticket>> byUser = new LinkedHashMap<>();
+        private final ArrayDeque<String> rotation = new ArrayDeque<>();
+        private int size;
+
+        private PlanQueue(int weight, int userMaxActive) {
+            this.weight = Math.max(1, weight);
+            this.userMaxActive = Math.max(1, userMaxActive);
+        }
+
+        void add(Ticket ticket) {
+            byUser.computeIfAbsent(ticket.userKey(), k -> {
+                rotation.addLast(k);
+                return new ArrayDeque<>();
+            }).addLast(ticket);
+            size++;
+        }
+
+        void addFirst(Ticket ticket) {
+            byUser.computeIfAbsent(ticket.userKey(), k -> {
+                rotation.addFirst(k);
+                return new ArrayDeque<>();
+            }).addFirst(ticket);
+            size++;
+        }
+
+        void remove(Ticket ticket) {
+            ArrayDeque<Ticket> tickets = byUser.get(ticket.userKey());
+            if (tickets != null && tickets.remove(ticket)) {
+                size--;
+                if (tickets.isEmpty()) {
+                    byUser.remove(ticket.userKey());
+                    rotation.remove(ticket.userKey());
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int queuedOf(String userKey) {
+            ArrayDeque<Ticket> tickets = byUser.get(userKey);
+            return tickets == null ? 0 : tickets.size();
+        }
+
+        boolean hasEligible() {
+            for (String userKey : rotation) {
+                if (isEligible(userKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 순환 순서대로 상한에 걸리지 않은 첫 유저의 가장 오래된 요청
+         */
+        Ticket pollEligible() {
+            for (int i = 0, n = rotation.size(); i < n; i++) {
+                String userKey = rotation.pollFirst();
+                if (!isEligible(userKey)) {
+                    rotation.addLast(userKey);
+                    continue;
+                }
+                ArrayDeque<Ticket> tickets = byUser.get(userKey);
+                Ticket ticket = tickets.pollFirst();
+                size--;
+                if (tickets.isEmpty()) {
+                    byUser.remove(userKey);
+                } else {
+                    rotation.addLast(userKey);
+                }
+                return ticket;
+            }
+            return null;
+        }
+
+        /**
+         * 같은 플랜에서 이 요청보다 먼저 꺼내질 건수 (유저별로 내 순번만큼씩)
+         */
+        int aheadOf(Ticket ticket) {
+            ArrayDeque<Ticket> mine = byUser.get(ticket.userKey());
+            int index = 0;
+            for (Ticket t : mine) {
+                if (t == ticket) {
+                    break;
+                }
+                index++;
+            }
+            int ahead = index;
+            for (Map.Entry<String, ArrayDeque<Ticket>> e : byUser.entrySet()) {
+                if (!e.getKey().equals(ticket.userKey())) {
+                    ahead += Math.min(e.getValue().size(), index + 1);
+                }
+            }
+            return ahead;
+        }
+
+        private boolean isEligible(String userKey) {
+            return activeByUser.getOrDefault(userKey, 0) < userMaxActive;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobEvent;
+import com.brickers.backend.job.event.JobEventBus;
+import com.brickers.backend.job.event.JobStatusPublisher;
+import com.brickers.backend.kids.dto.JobStatusSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📶 JobStatusStreamService
+ * Job 상태/단계 변경을 SSE로 push 하고, 폴링 클라이언트용 조건부 조회(ETag)를 지원합니다.
+ *
+ * - JobEventBus의 JOB_STATUS 이벤트로 최신 스냅샷을 메모리에 유지
+ * - ETag는 문서 revision (모든 쓰기마다 증가) → If-None-Match 비교는 revision만 projection 조회 후 304
+ *   (상태 이벤트가 없는 쓰기 - 재전송 표시, 대기열 heartbeat, 필드 PATCH - 도 응답 본문을 바꾸므로 스냅샷으로 판단하지 않음)
+ * - 이벤트 유실 대비로 스냅샷은 cache-ttl 후 만료 → 다음 구독은 DB에서 다시 확인
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobStatusStreamService {
+
+    private static final String TOPIC_PREFIX = "status:";
+
+    private final JobEventBus jobEventBus;
+    private final SseFanout sseFanout;
+    private final KidsJobService kidsJobService;
+
+    @Value("${app.job-status.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    private final ConcurrentHashMap<String, CachedSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record CachedSnapshot(JobStatusSnapshot snapshot, long cachedAt) {
+    }
+
+    @PostConstruct
+    void subscribeJobEvents() {
+        jobEventBus.subscribe(this::onJobEvent);
+    }
+
+    private void onJobEvent(JobEvent event) {
+        if (event.getType() != JobEvent.Type.JOB_STATUS) {
+            return;
+        }
+        JobStatusSnapshot snapshot = new JobStatusSnapshot(event.getJobId(), event.getStatus(), event.getStage(),
+                event.getMessage(), event.getSeq());
+        // 역순으로 도착한 오래된 상태는 push 하지 않음
+        if (!remember(snapshot)) {
+            return;
+        }
+
+        String topic = TOPIC_PREFIX + snapshot.jobId();
+        if (sseFanout.hasSubscribers(topic)) {
+            sseFanout.publish(topic, toEvent(snapshot));
+            if (snapshot.isTerminal()) {
+                sseFanout.complete(topic);
+            }
+        }
+    }
+
+    /**
+     * 상태 스트림 구독 - 현재 상태를 먼저 보내고 이후 변경을 push, 종료 상태가 되면 연결 종료
+     */
+    public SseEmitter subscribe(String jobId) {
+        JobStatusSnapshot current = currentSnapshot(jobId);
+        SseEmitter emitter = new SseEmitter(1_800_000L); // 30분 타임아웃
+
+        sseFanout.register(TOPIC_PREFIX + jobId, emitter, () -> {
+            List<SseFanout.Event> backlog = new ArrayList<>();
+            backlog.add(toEvent(current));
+            if (current.isTerminal()) {
+                backlog.add(SseFanout.CLOSE);
+            }
+            return backlog;
+        });
+        return emitter;
+    }
+
+    /**
+     * 조건부 조회 - 클라이언트 ETag가 현재 revision과 같으면 true (전체 문서 대신 revision만 조회)
+     */
+    public boolean isNotModified(String jobId, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        Long revision = kidsJobService.revisionOf(jobId);
+        if (revision == null) {
+            return false;
+        }
+        String etag = etag(jobId, revision);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 전체 조회 결과로 스냅샷 갱신 후 ETag 반환
+     */
+    public String etagOf(GenerateJobEntity job) {
+        remember(toSnapshot(job));
+        return etag(job.getId(), job.getRevision());
+    }
+
+    private String etag(String jobId, long revision) {
+        return "\"" + jobId + "-" + revision + "\"";
+    }
+
+    private JobStatusSnapshot currentSnapshot(String jobId) {
+        CachedSnapshot cached = freshCached(jobId);
+        if (cached != null) {
+            return cached.snapshot();
+        }
+        JobStatusSnapshot snapshot = toSnapshot(kidsJobService.getJobStatus(jobId));
+        remember(snapshot);
+        return snapshot;
+    }
+
+    private CachedSnapshot freshCached(String jobId) {
+        CachedSnapshot cached = snapshots.get(jobId);
+        if (cached == null || System.currentTimeMillis() - cached.cachedAt() > cacheTtlSeconds * 1000L) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 더 새로운 버전만 반영 (이벤트 역순 도착 대비)
+     *
+     * @return 반영됐으면 true (캐시된 것보다 오래된 버전이면 false)
+     */
+    private boolean remember(JobStatusSnapshot snapshot) {
+        CachedSnapshot next = new CachedSnapshot(snapshot, System.currentTimeMillis());
+        return snapshots.merge(snapshot.jobId(), next,
+                (prev, incoming) -> incoming.snapshot().version() >= prev.snapshot().version() ? incoming : prev)
+                == next;
+    }
+
+    private JobStatusSnapshot toSnapshot(GenerateJobEntity job) {
+        return new JobStatusSnapshot(job.getId(), job.getStatus(), job.getStage(), job.getErrorMessage(),
+                JobStatusPublisher.versionOf(job));
+    }
+
+    private SseFanout.Event toEvent(JobStatusSnapshot snapshot) {
+        return new SseFanout.Event(String.valueOf(snapshot.version()), "job-status", snapshot, null);
+    }
+
+    /**
+     * 만료된 스냅샷 정리 (1분마다)
+     */
+    @Scheduled(fixedRate = 60000)
+    public void cleanupExpiredSnapshots() {
+        long threshold = System.currentTimeMillis() - cacheTtlSeconds * 1000L;
+        snapshots.entrySet().removeIf(e -> e.getValue().cachedAt() < threshold);
+    }
+}
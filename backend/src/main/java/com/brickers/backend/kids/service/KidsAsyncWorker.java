@@ -2,78 +2,262 @@ package com.brickers.backend.kids.service;
 
 import com.brickers.backend.job.entity.GenerateJobEntity;
 import com.brickers.backend.job.entity.JobStage;
-import com.brickers.backend.job.repository.GenerateJobRepository;
-import lombok.RequiredArgsConstructor;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobStatusPublisher;
+import com.brickers.backend.job.service.JobCancellationRegistry;
+import com.brickers.backend.kids.dto.AiProcessResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * ⚙️ KidsAsyncWorker
+ * SQS를 쓰지 않을 때의 생성/재시도 파이프라인 (DALL-E → AI 서버 → 결과 반영)을 non-blocking으로 실행합니다.
+ *
+ * - Reactive Mongo / WebClient / S3AsyncClient만 사용 → 대기 중인 작업이 스레드를 점유하지 않음
+ * - 동시 진행 수는 max-in-flight로 제한 (초과 시 TaskRejectedException → 503)
+ * - 구독은 JobCancellationRegistry에 등록 → Job 취소 시 dispose되어 AI 서버 연결까지 끊김
+ * - 상태 변경은 status in (QUEUED, RUNNING) 조건부 $set → 취소/PATCH와 경합해도 덮어쓰지 않음
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class KidsAsyncWorker {
 
     private final WebClient aiWebClient;
-    private final GenerateJobRepository generateJobRepository;
-    private final KidsJobResultService kidsJobResultService; // Changed from KidsJobService
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final KidsImageService kidsImageService;
+    private final KidsJobResultService kidsJobResultService;
+    private final AiResultStreamReader aiResultStreamReader;
+    private final JobCancellationRegistry jobCancellationRegistry;
+    private final JobStatusPublisher jobStatusPublisher;
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final Counter rejectedCounter;
 
     @Value("${KIDS_AI_PROCESS_TIMEOUT_SEC:930}")
     private long processTimeoutSec;
 
-    @Async("kidsExecutor")
-    public void processGenerationAsync(String jobId, String userId, String sourceImageUrl, String age, int budget,
+    @Value("${app.kids.pipeline.max-in-flight:5000}")
+    private int maxInFlight;
+
+    public KidsAsyncWorker(WebClient aiWebClient, ReactiveMongoTemplate reactiveMongoTemplate,
+            KidsImageService kidsImageService, KidsJobResultService kidsJobResultService,
+            AiResultStreamReader aiResultStreamReader, JobCancellationRegistry jobCancellationRegistry,
+            JobStatusPublisher jobStatusPublisher, MeterRegistry meterRegistry) {
+        this.aiWebClient = aiWebClient;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.kidsImageService = kidsImageService;
+        this.kidsJobResultService = kidsJobResultService;
+        this.aiResultStreamReader = aiResultStreamReader;
+        this.jobCancellationRegistry = jobCancellationRegistry;
+        this.jobStatusPublisher = jobStatusPublisher;
+
+        Gauge.builder("kids.generation.inflight", inFlightCount, AtomicInteger::get)
+                .description("진행 중인 생성 파이프라인 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("kids.generation.rejected")
+                .description("동시 진행 한도 초과로 거절된 생성 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 생성 파이프라인 시작 - 구독만 하고 바로 반환
+     * - sourceImageUrl이 없으면 prompt로 DALL-E 이미지부터 생성
+     */
+    public void startGeneration(String jobId, String userId, String prompt, String title, String age, int budget,
             String language) {
-        long totalStart = System.currentTimeMillis();
         log.info("🚀 [KIDS-WORKER] 작업 시작 | jobId={} | userId={} | age={} | budget={}", jobId, userId, age, budget);
 
-        GenerateJobEntity job = generateJobRepository.findById(jobId).orElse(null);
-        if (job == null) {
-            log.error("❌ [KIDS-WORKER] Job을 찾을 수 없음: jobId={}", jobId);
-            return;
+        run(jobId, markRunning(jobId, JobStage.THREE_D_PREVIEW)
+                .flatMap(job -> resolveSourceImage(job, userId, prompt, title, age, language))
+                .flatMap(sourceImageUrl -> requestAi(aiRequest(sourceImageUrl, age, budget, language), userId))
+                .flatMap(result -> kidsJobResultService.applyResult(jobId, result)));
+    }
+
+    /**
+     * 재시도 Job을 requestedFromStage부터 재개
+     * - 기존 산출물(보정 이미지/GLB/초기 LDR)을 함께 보내 AI 서버가 완료된 단계를 건너뜀
+     */
+    public void resumeGeneration(GenerateJobEntity retryJob) {
+        String jobId = retryJob.getId();
+        JobStage fromStage = retryJob.getRequestedFromStage();
+        log.info("🔁 [KIDS-WORKER] 재시도 시작 | jobId={} | fromStage={}", jobId, fromStage);
+
+        Map<String, Object> body = aiRequest(retryJob.getSourceImageUrl(), retryJob.getAge(), retryJob.getBudget(),
+                retryJob.getLanguage());
+        putIfPresent(body, "fromStage", fromStage == null ? null : fromStage.name());
+        putIfPresent(body, "correctedImageUrl", retryJob.getCorrectedImageUrl());
+        putIfPresent(body, "glbUrl", retryJob.getGlbUrl());
+        putIfPresent(body, "initialLdrUrl", retryJob.getInitialLdrUrl());
+
+        run(jobId, markRunning(jobId, fromStage)
+                .flatMap(job -> requestAi(body, retryJob.getUserId()))
+                .flatMap(result -> kidsJobResultService.applyResult(jobId, result)));
+    }
+
+    /**
+     * 파이프라인 구독 (동시 진행 한도 확인 + 취소 레지스트리 등록)
+     */
+    private void run(String jobId, Mono<Void> pipeline) {
+        if (inFlightCount.incrementAndGet() > maxInFlight) {
+            inFlightCount.decrementAndGet();
+            rejectedCounter.increment();
+            throw new TaskRejectedException("동시 생성 한도 초과 (limit=" + maxInFlight + ")");
         }
 
-        job.markRunning(JobStage.THREE_D_PREVIEW);
-        generateJobRepository.save(job);
-
-        try {
-            log.info("📌 AI 서버 요청 시작 | timeout={}sec", processTimeoutSec);
-            long aiStart = System.currentTimeMillis();
-
-            Map<String, Object> response = aiWebClient.post()
-                    .uri("/api/v1/kids/process-all")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(BodyInserters.fromValue(Map.of(
-                            "sourceImageUrl", sourceImageUrl,
-                            "age", age,
-                            "budget", budget,
-                            "language", (language == null ? "en" : language))))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                    })
-                    .timeout(Duration.ofSeconds(processTimeoutSec))
-                    .block();
-
-            long aiElapsed = System.currentTimeMillis() - aiStart;
-            log.info("✅ AI 서버 응답 수신 완료 | 소요시간={}ms", aiElapsed);
-
-            // ⚠️ 결과 처리 위임 (Parsing, Storage)
-            kidsJobResultService.applyResult(jobId, userId, response);
-
-            long totalElapsed = System.currentTimeMillis() - totalStart;
-            log.info("🎉 [KIDS-WORKER] 작업 최종 완료! | jobId={} | 총소요시간={}ms", jobId, totalElapsed);
-
-        } catch (Exception e) {
-            log.error("❌ [KIDS-WORKER] 작업 실패! | jobId={} | error={}", jobId, e.getMessage(), e);
-            job.markFailed(e.getMessage());
-            generateJobRepository.save(job);
+        long totalStart = System.currentTimeMillis();
+
+        // 구독 전에 등록해야 즉시 끝나는 파이프라인도 doFinally에서 정리됨
+        Disposable.Swap subscription = Disposables.swap();
+        jobCancellationRegistry.register(jobId, subscription);
+
+        subscription.update(pipeline
+                .doOnSuccess(v -> log.info("🎉 [KIDS-WORKER] 작업 최종 완료! | jobId={} | 총소요시간={}ms",
+                        jobId, System.currentTimeMillis() - totalStart))
+                .onErrorResume(e -> markFailed(jobId, e))
+                .doFinally(signal -> {
+                    jobCancellationRegistry.unregister(jobId, subscription);
+                    inFlightCount.decrementAndGet();
+                    if (signal == SignalType.CANCEL) {
+                        log.info("🛑 [KIDS-WORKER] 작업 취소됨 | jobId={}", jobId);
+                    }
+                })
+                .subscribe());
+    }
+
+    /**
+     * QUEUED → RUNNING (이미 취소/종료된 Job이면 empty → 파이프라인 종료)
+     */
+    private Mono<GenerateJobEntity> markRunning(String jobId, JobStage stage) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", JobStatus.RUNNING)
+                .set("stageUpdatedAt", now)
+                .set("updatedAt", now)
+                .inc("revision", 1)
+                .unset("errorMessage")
+                .unset("requestedFromStage");
+        if (stage != null) {
+            update.set("stage", stage);
         }
+
+        return reactiveMongoTemplate.findAndModify(activeJob(jobId), update, RETURN_NEW, GenerateJobEntity.class)
+                .doOnNext(jobStatusPublisher::publish)
+                .switchIfEmpty(reactiveMongoTemplate.exists(byId(jobId), GenerateJobEntity.class)
+                        .flatMap(exists -> exists
+                                ? Mono.<GenerateJobEntity>empty()
+                                : Mono.error(new NoSuchElementException("Job not found: " + jobId))));
+    }
+
+    private Query byId(String jobId) {
+        return Query.query(Criteria.where("_id").is(jobId));
+    }
+
+    /**
+     * 진행 중(QUEUED / RUNNING)인 Job만 대상으로 하는 조건
+     */
+    private Query activeJob(String jobId) {
+        return Query.query(Criteria.where("_id").is(jobId)
+                .and("status").in(JobStatus.QUEUED, JobStatus.RUNNING));
+    }
+
+    private Mono<String> resolveSourceImage(GenerateJobEntity job, String userId, String prompt, String title,
+            String age, String language) {
+        if (job.getSourceImageUrl() != null && !job.getSourceImageUrl().isBlank()) {
+            return Mono.just(job.getSourceImageUrl());
+        }
+        return kidsImageService.generateAndStoreImageReactive(userId, prompt, age, title, language)
+                .flatMap(url -> reactiveMongoTemplate.updateFirst(activeJob(job.getId()),
+                                new Update().set("sourceImageUrl", url)
+                                        .set("updatedAt", LocalDateTime.now())
+                                        .inc("revision", 1),
+                                GenerateJobEntity.class)
+                        .thenReturn(url));
+    }
+
+    private Map<String, Object> aiRequest(String sourceImageUrl, String age, Integer budget, String language) {
+        Map<String, Object> body = new HashMap<>();
+        putIfPresent(body, "sourceImageUrl", sourceImageUrl);
+        putIfPresent(body, "age", age);
+        putIfPresent(body, "budget", budget);
+        body.put("language", (language == null ? "en" : language));
+        return body;
+    }
+
+    private static void putIfPresent(Map<String, Object> body, String key, Object value) {
+        if (value != null) {
+            body.put(key, value);
+        }
+    }
+
+    /**
+     * AI 서버 요청 - 응답은 버퍼링하지 않고 스트림으로 해석 (ldrData는 바로 업로드)
+     */
+    private Mono<AiProcessResult> requestAi(Map<String, Object> body, String userId) {
+        log.info("📌 AI 서버 요청 시작 | timeout={}sec", processTimeoutSec);
+        long aiStart = System.currentTimeMillis();
+
+        return aiWebClient.post()
+                .uri("/api/v1/kids/process-all")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(body))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return aiResultStreamReader.read(response.bodyToFlux(DataBuffer.class), userId);
+                })
+                .timeout(Duration.ofSeconds(processTimeoutSec))
+                .doOnSuccess(result -> log.info("✅ AI 서버 응답 수신 완료 | 소요시간={}ms",
+                        System.currentTimeMillis() - aiStart));
+    }
+
+    private Mono<Void> markFailed(String jobId, Throwable e) {
+        log.error("❌ [KIDS-WORKER] 작업 실패! | jobId={} | error={}", jobId, e.getMessage(), e);
+        LocalDateTime now = LocalDateTime.now();
+        Query query = activeJob(jobId);
+        query.fields().include("status", "stage", "errorMessage", "updatedAt");
+
+        return reactiveMongoTemplate.findAndModify(query,
+                        new Update()
+                                .set("status", JobStatus.FAILED)
+                                .set("errorMessage", e.getMessage())
+                                .set("stageUpdatedAt", now)
+                                .set("updatedAt", now)
+                                .inc("revision", 1),
+                        RETURN_NEW,
+                        GenerateJobEntity.class)
+                .doOnNext(jobStatusPublisher::publish)
+                .then()
+                .onErrorResume(saveError -> {
+                    log.error("❌ [KIDS-WORKER] 실패 상태 저장 실패 | jobId={} | error={}", jobId, saveError.getMessage());
+                    return Mono.empty();
+                });
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
@@ -36,7 +37,7 @@ public class KidsImageService {
     public String generateAndStoreImage(String userId, String prompt, String age, String title, String language) {
         try {
             log.info("[KidsImageService] 프롬프트로 이미지 생성 시작: {}", prompt);
-            byte[] imageBytes = generateImageFromPrompt(prompt, age, title, language);
+            byte[] imageBytes = requestImage(prompt, age, title, language).block();
             String fileName = "dalle_" + UUID.randomUUID() + ".png";
 
             var stored = storageService.storeFile(userId, fileName, imageBytes, "image/png");
@@ -48,7 +49,26 @@ public class KidsImageService {
         }
     }
 
-    private byte[] generateImageFromPrompt(String prompt, String age, String title, String language) {
+    /**
+     * generateAndStoreImage의 non-blocking 버전 (생성 파이프라인용)
+     */
+    public Mono<String> generateAndStoreImageReactive(String userId, String prompt, String age, String title,
+            String language) {
+        log.info("[KidsImageService] 프롬프트로 이미지 생성 시작: {}", prompt);
+        return requestImage(prompt, age, title, language)
+                .flatMap(imageBytes -> storageService.storeFileAsync(
+                        userId, "dalle_" + UUID.randomUUID() + ".png", imageBytes, "image/png"))
+                .map(stored -> {
+                    log.info("[KidsImageService] DALL-E 이미지 S3 업로드 완료: {}", stored.url());
+                    return stored.url();
+                })
+                .onErrorMap(e -> {
+                    log.error("[KidsImageService] 이미지 생성 실패: {}", e.getMessage());
+                    return new RuntimeException("이미지 생성 실패: " + e.getMessage(), e);
+                });
+    }
+
+    private Mono<byte[]> requestImage(String prompt, String age, String title, String language) {
         String finalPrompt = buildEnhancedImagePrompt(prompt, age, title, language);
 
         Map<String, Object> requestBody = Map.of(
@@ -58,7 +78,7 @@ public class KidsImageService {
                 "size", "1024x1024",
                 "response_format", "b64_json");
 
-        Map<String, Object> response = webClientBuilder.build()
+        return webClientBuilder.build()
                 .mutate()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build()
@@ -70,9 +90,13 @@ public class KidsImageService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
-                .block(Duration.ofSeconds(60));
+                .timeout(Duration.ofSeconds(60))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("OpenAI 응답 없음")))
+                .map(this::decodeImage);
+    }
 
-        if (response == null || !response.containsKey("data")) {
+    private byte[] decodeImage(Map<String, Object> response) {
+        if (!response.containsKey("data")) {
             throw new RuntimeException("OpenAI 응답 없음");
         }
 
@@ -1,177 +1,174 @@
 package com.brickers.backend.kids.service;
 
 import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobStage;
 import com.brickers.backend.job.entity.JobStatus;
-import com.brickers.backend.job.repository.GenerateJobRepository;
+import com.brickers.backend.job.event.JobStatusPublisher;
+import com.brickers.backend.kids.dto.AiProcessResult;
 import com.brickers.backend.sqs.dto.SqsMessage;
-import com.brickers.backend.upload_s3.service.StorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
-import java.util.Base64;
-import java.util.List;
-import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.NoSuchElementException;
 
 /**
  * 🛠️ KidsJobResultService
- * AI 서버나 SQS로부터 수신된 원시 데이터(Map, SqsMessage)를 해석하고,
- * 엔티티에 반영하기 적절한 형태로 가공(Parsing, 디코딩, 비용 계산)하는 기능을 전담합니다.
+ * AI 서버(HTTP)나 SQS로부터 수신된 결과(AiProcessResult)를 엔티티에 반영하고 비용을 계산합니다.
+ *
+ * - 두 경로 모두 같은 스키마(AiProcessResult) + 같은 반영 로직(resultUpdate)
+ * - findById → save 대신 status in (QUEUED, RUNNING) 조건부 $set 한 번
+ *   → 그 사이 취소/PATCH된 내용을 덮어쓰지 않음 (바뀐 필드만 갱신)
+ * - null 필드는 기존 값 유지
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KidsJobResultService {
 
-    private final GenerateJobRepository jobRepository;
-    private final StorageService storageService;
+    private final MongoTemplate mongoTemplate;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final JobStatusPublisher jobStatusPublisher;
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
 
     /**
-     * AI 서버 처리 결과 반영 (Map 형태 - AsyncWorker 용)
+     * AI 서버 처리 결과 반영 (AsyncWorker 용, non-blocking)
+     * - ldrData는 AiResultStreamReader가 이미 업로드해서 ldrUrl에 채워둠
+     * - 처리 중 취소/종료된 Job은 결과를 반영하지 않음
      */
-    @Transactional
-    public void applyResult(String jobId, String userId, Map<String, Object> response) {
-        GenerateJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new NoSuchElementException("Job not found: " + jobId));
-
-        if (response == null)
-            return;
-
+    public Mono<Void> applyResult(String jobId, AiProcessResult result) {
         log.info("[KidsJobResultService] AI 결과 해석 및 반영 시작 | jobId={}", jobId);
-
-        // 1. 기초 정보 (Latency, Stats)
-        if (response.get("lmmLatency") instanceof Number n)
-            job.setLmmLatency(n.intValue());
-        if (response.get("parts") instanceof Number n)
-            job.setParts(n.intValue());
-        if (response.get("finalTarget") instanceof Number n)
-            job.setFinalTarget(n.intValue());
-        if (response.containsKey("subject"))
-            job.setTitle(asString(response.get("subject")));
-        if (response.get("stabilityScore") instanceof Number n)
-            job.setStabilityScore(n.intValue());
-
-        // 2. URLs 반영
-        updateJobUrls(job, response);
-
-        // 3. Metadata (Tags, Category, Screenshots)
-        if (response.get("suggestedTags") instanceof List tags)
-            job.setSuggestedTags((List<String>) tags);
-        if (response.get("imageCategory") != null)
-            job.setImageCategory(asString(response.get("imageCategory")));
-        if (response.get("screenshots") instanceof Map ss)
-            job.setScreenshotUrls((Map<String, String>) ss);
-
-        // 4. 비용 계산
-        if (response.get("tokenCount") instanceof Number n)
-            job.setTokenCount(n.intValue());
-        if (response.get("estCost") instanceof Number n)
-            job.setEstCost(n.doubleValue());
-        if (job.getEstCost() == null)
-            applyCostFallback(job);
-
-        // 5. LDR Data 특수 처리 (Base64 -> S3)
-        processLdrBase64(job, userId, asString(response.get("ldrData")));
-
-        job.markDone();
-        jobRepository.save(job);
-        log.info("[KidsJobResultService] AI 결과 반영 완료 | jobId={}", jobId);
+        return reactiveMongoTemplate.findAndModify(activeJob(jobId), resultUpdate(jobId, result), RETURN_NEW,
+                        GenerateJobEntity.class)
+                .doOnNext(job -> {
+                    jobStatusPublisher.publish(job);
+                    log.info("[KidsJobResultService] AI 결과 반영 완료 | jobId={}", jobId);
+                })
+                .switchIfEmpty(reactiveMongoTemplate.exists(byId(jobId), GenerateJobEntity.class)
+                        .flatMap(exists -> {
+                            if (!exists) {
+                                return Mono.error(new NoSuchElementException("Job not found: " + jobId));
+                            }
+                            log.info("[KidsJobResultService] 진행 중이 아닌 Job 결과 무시 | jobId={}", jobId);
+                            return Mono.empty();
+                        }))
+                .then();
     }
 
     /**
      * SQS 결과 메시지 반영
      */
-    @Transactional
-    public void applySqsResult(SqsMessage result) {
-        GenerateJobEntity job = jobRepository.findById(result.getJobId())
-                .orElseThrow(() -> new NoSuchElementException("Job not found: " + result.getJobId()));
-
-        if (job.getStatus() == JobStatus.CANCELED)
+    public void applySqsResult(SqsMessage message) {
+        String jobId = message.getJobId();
+        GenerateJobEntity updated = mongoTemplate.findAndModify(activeJob(jobId),
+                resultUpdate(jobId, message.toResult()), RETURN_NEW, GenerateJobEntity.class);
+
+        if (updated == null) {
+            if (!mongoTemplate.exists(byId(jobId), GenerateJobEntity.class)) {
+                throw new NoSuchElementException("Job not found: " + jobId);
+            }
+            log.info("[KidsJobResultService] 진행 중이 아닌 Job 결과 무시 | jobId={}", jobId);
             return;
+        }
+        jobStatusPublisher.publish(updated);
+    }
 
-        if (Boolean.TRUE.equals(result.getSuccess())) {
-            job.setCorrectedImageUrl(result.getCorrectedUrl());
-            job.setGlbUrl(result.getGlbUrl());
-            job.setLdrUrl(result.getLdrUrl());
-            if (result.getInitialLdrUrl() != null)
-                job.setInitialLdrUrl(result.getInitialLdrUrl());
-            job.setBomUrl(result.getBomUrl());
-            if (result.getPdfUrl() != null)
-                job.setPdfUrl(result.getPdfUrl());
-            if (result.getParts() != null)
-                job.setParts(result.getParts());
-            if (result.getFinalTarget() != null)
-                job.setFinalTarget(result.getFinalTarget());
-            if (result.getTags() != null)
-                job.setSuggestedTags(result.getTags());
-            // [FIX] backgroundUrl 보존: SQS RESULT에 비어있으면 기존 값(Screenshot Server PATCH로 저장됨)
-            // 유지
-            if (result.getBackgroundUrl() != null && !result.getBackgroundUrl().isBlank()) {
-                job.setBackgroundUrl(result.getBackgroundUrl());
-            }
-            // else: 기존 job.getBackgroundUrl() 그대로 유지
+    private Query byId(String jobId) {
+        return Query.query(Criteria.where("_id").is(jobId));
+    }
 
-            job.setTokenCount(result.getTokenCount());
-            job.setEstCost(result.getEstCost());
-            job.setStabilityScore(result.getStabilityScore());
+    /**
+     * 결과를 반영할 수 있는 Job (QUEUED / RUNNING) - 응답은 상태 이벤트에 필요한 필드만
+     */
+    private Query activeJob(String jobId) {
+        Query query = Query.query(Criteria.where("_id").is(jobId)
+                .and("status").in(JobStatus.QUEUED, JobStatus.RUNNING));
+        query.fields().include("status", "stage", "errorMessage", "updatedAt");
+        return query;
+    }
 
-            if (job.getEstCost() == null)
-                applyCostFallback(job);
-            job.markDone();
-        } else {
-            job.markFailed(result.getErrorMessage());
+    /**
+     * 결과 반영 (공통) - 성공이면 DONE, 실패면 FAILED
+     */
+    private Update resultUpdate(String jobId, AiProcessResult result) {
+        if (result.isNewerSchema()) {
+            log.warn("[KidsJobResultService] 지원하지 않는 결과 스키마 버전 - 아는 필드만 반영 | jobId={} | version={}",
+                    jobId, result.getSchemaVersion());
         }
-        jobRepository.save(job);
-    }
 
-    private void updateJobUrls(GenerateJobEntity job, Map<String, Object> response) {
-        String correctedUrl = asString(response.get("correctedUrl"));
-        if (correctedUrl != null) {
-            job.setCorrectedImageUrl(correctedUrl);
-            job.setPreviewImageUrl(correctedUrl);
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("stageUpdatedAt", now)
+                .set("updatedAt", now)
+                .inc("revision", 1);
+
+        if (result.isFailed()) {
+            return update.set("status", JobStatus.FAILED)
+                    .set("errorMessage", result.getErrorMessage());
         }
-        String modelUrl = asString(response.get("modelUrl"));
-        if (modelUrl != null)
-            job.setGlbUrl(modelUrl);
-        String ldrUrl = asString(response.get("ldrUrl"));
-        if (ldrUrl != null)
-            job.setLdrUrl(ldrUrl);
-        String initialLdrUrl = asString(response.get("initialLdrUrl"));
-        if (initialLdrUrl != null)
-            job.setInitialLdrUrl(initialLdrUrl);
-        String bomUrl = asString(response.get("bomUrl"));
-        if (bomUrl != null)
-            job.setBomUrl(bomUrl);
-        String bgUrl = asString(response.get("backgroundUrl"));
-        if (bgUrl != null && !bgUrl.isBlank())
-            job.setBackgroundUrl(bgUrl);
+
+        // 1. 기초 정보 (Latency, Stats)
+        setIfPresent(update, "lmmLatency", result.getLmmLatency());
+        setIfPresent(update, "parts", result.getParts());
+        setIfPresent(update, "finalTarget", result.getFinalTarget());
+        setIfPresent(update, "title", result.getSubject());
+        setIfPresent(update, "stabilityScore", result.getStabilityScore());
+
+        // 2. URLs 반영
+        updateJobUrls(update, result);
+
+        // 3. Metadata (Tags, Category, Screenshots)
+        setIfPresent(update, "suggestedTags", result.getSuggestedTags());
+        setIfPresent(update, "imageCategory", result.getImageCategory());
+        setIfPresent(update, "screenshotUrls", result.getScreenshots());
+
+        // 4. 비용 계산 (진행 중인 Job의 estCost는 결과로만 채워지므로 결과에 없으면 바로 추정치)
+        setIfPresent(update, "tokenCount", result.getTokenCount());
+        update.set("estCost", result.getEstCost() != null
+                ? result.getEstCost()
+                : estimateCost(result.getTokenCount()));
+
+        return update.set("status", JobStatus.DONE)
+                .set("stage", JobStage.DONE)
+                .unset("errorMessage")
+                .unset("requestedFromStage");
     }
 
-    private void processLdrBase64(GenerateJobEntity job, String userId, String ldrData) {
-        if (ldrData != null && ldrData.startsWith("data:")) {
-            try {
-                String b64 = ldrData.substring(ldrData.indexOf(',') + 1);
-                byte[] bytes = Base64.getDecoder().decode(b64);
-                var stored = storageService.storeFile(userId, "result.ldr", bytes, "text/plain");
-                job.setLdrUrl(stored.url());
-            } catch (Exception e) {
-                log.warn("[KidsJobResultService] LDR base64 처리 실패: {}", e.getMessage());
-            }
+    private void updateJobUrls(Update update, AiProcessResult result) {
+        if (result.getCorrectedUrl() != null) {
+            update.set("correctedImageUrl", result.getCorrectedUrl());
+            update.set("previewImageUrl", result.getCorrectedUrl());
         }
+        setIfPresent(update, "glbUrl", result.getModelUrl());
+        setIfPresent(update, "ldrUrl", result.getLdrUrl());
+        setIfPresent(update, "initialLdrUrl", result.getInitialLdrUrl());
+        setIfPresent(update, "bomUrl", result.getBomUrl());
+        setIfPresent(update, "pdfUrl", result.getPdfUrl());
+        // [FIX] backgroundUrl 보존: 비어있으면 기존 값(Screenshot Server PATCH로 저장됨) 유지
+        if (result.getBackgroundUrl() != null && !result.getBackgroundUrl().isBlank())
+            update.set("backgroundUrl", result.getBackgroundUrl());
     }
 
-    private void applyCostFallback(GenerateJobEntity job) {
-        if (job.getTokenCount() != null) {
-            double total = 0.30 + (job.getTokenCount() * 0.00000015);
-            job.setEstCost(Math.round(total * 10000.0) / 10000.0);
-        } else {
-            job.setEstCost(0.35);
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
         }
     }
 
-    private String asString(Object o) {
-        return o == null ? null : String.valueOf(o);
+    private double estimateCost(Integer tokenCount) {
+        if (tokenCount != null) {
+            double total = 0.30 + (tokenCount * 0.00000015);
+            return Math.round(total * 10000.0) / 10000.0;
+        }
+        return 0.35;
     }
 }
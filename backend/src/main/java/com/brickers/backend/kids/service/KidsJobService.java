@@ -3,9 +3,15 @@ package com.brickers.backend.kids.service;
 import com.brickers.backend.job.entity.GenerateJobEntity;
 import com.brickers.backend.job.entity.JobStage;
 import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobStatusPublisher;
 import com.brickers.backend.job.repository.GenerateJobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +23,10 @@ import java.util.NoSuchElementException;
 /**
  * 🚀 KidsJobService
  * 이미지 생성 작업(Job)의 상태 관리, 단계 업데이트, 결과 반영을 담당합니다.
+ *
+ * - AI / Blueprint / Screenshot 서버가 같은 Job을 동시에 PATCH 하므로
+ *   findById → save 대신 필드 단위 $set 한 번으로 갱신 (lost update 방지)
+ * - 갱신 후 JOB_STATUS 이벤트 발행 (SSE 상태 스트림 / ETag 캐시)
  */
 @Slf4j
 @Service
@@ -24,69 +34,130 @@ import java.util.NoSuchElementException;
 public class KidsJobService {
 
     private final GenerateJobRepository jobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final JobStatusPublisher jobStatusPublisher;
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
 
     /**
      * Job 상태 조회
      */
     public GenerateJobEntity getJobStatus(String jobId) {
-        log.info("[KidsJobService] Polling Job Status. jobId={}", jobId);
+        log.debug("[KidsJobService] Polling Job Status. jobId={}", jobId);
         return jobRepository.findById(jobId)
                 .orElseThrow(() -> new NoSuchElementException("Job not found: " + jobId));
     }
 
+    /**
+     * 현재 리비전만 조회 (조건부 조회 ETag 비교용, 없는 Job이면 null)
+     */
+    public Long revisionOf(String jobId) {
+        Query query = Query.query(Criteria.where("_id").is(jobId));
+        query.fields().include("revision");
+        GenerateJobEntity job = mongoTemplate.findOne(query, GenerateJobEntity.class);
+        return job == null ? null : job.getRevision();
+    }
+
     /**
      * 작업 단계(Stage) 업데이트
+     * - QUEUED/RUNNING 인 Job만 이동 (CANCELED/DONE/FAILED는 건드리지 않음)
+     * - QUEUED면 markRunning, RUNNING이면 moveToStage와 동일한 결과
      */
     @Transactional
     public void updateJobStage(String jobId, String stageName) {
-        GenerateJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new NoSuchElementException("Job not found: " + jobId));
-
+        JobStage stage;
         try {
-            JobStage stage = JobStage.valueOf(stageName);
-            if (job.getStatus() == JobStatus.QUEUED) {
-                job.markRunning(stage);
-            } else {
-                job.moveToStage(stage);
-            }
-            jobRepository.save(job);
+            stage = JobStage.valueOf(stageName);
         } catch (IllegalArgumentException e) {
             log.warn("[KidsJobService] 알 수 없는 stage 무시 | jobId={} | stageName={}", jobId, stageName);
+            return;
         }
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", JobStatus.RUNNING)
+                .set("stage", stage)
+                .set("stageUpdatedAt", now)
+                .set("updatedAt", now)
+                .inc("revision", 1)
+                .unset("errorMessage")
+                .unset("requestedFromStage");
+
+        GenerateJobEntity updated = mongoTemplate.findAndModify(
+                statusFields(Query.query(Criteria.where("_id").is(jobId)
+                        .and("status").in(JobStatus.QUEUED, JobStatus.RUNNING))),
+                update,
+                RETURN_NEW,
+                GenerateJobEntity.class);
+
+        if (updated == null) {
+            ensureExists(jobId);
+            log.info("[KidsJobService] 진행 중이 아닌 Job의 stage 업데이트 무시 | jobId={} | stage={}", jobId, stage);
+            return;
+        }
+        jobStatusPublisher.publish(updated);
     }
 
     // --- 개별 필드 원자적 업데이트 ---
 
     @Transactional
     public void updatePdfUrl(String jobId, String pdfUrl) {
-        updateField(jobId, j -> j.setPdfUrl(pdfUrl));
+        updateField(jobId, "pdfUrl", pdfUrl);
     }
 
     @Transactional
     public void updateBackgroundUrl(String jobId, String bgUrl) {
-        updateField(jobId, j -> j.setBackgroundUrl(bgUrl));
+        updateField(jobId, "backgroundUrl", bgUrl);
     }
 
     @Transactional
     public void updateScreenshotUrls(String jobId, Map<String, String> urls) {
-        updateField(jobId, j -> j.setScreenshotUrls(urls));
+        updateField(jobId, "screenshotUrls", urls);
     }
 
     @Transactional
     public void updateSuggestedTags(String jobId, List<String> tags) {
-        updateField(jobId, j -> j.setSuggestedTags(tags));
+        updateField(jobId, "suggestedTags", tags);
     }
 
     @Transactional
     public void updateJobCategory(String jobId, String cat) {
-        updateField(jobId, j -> j.setImageCategory(cat));
+        updateField(jobId, "imageCategory", cat);
     }
 
-    private void updateField(String jobId, java.util.function.Consumer<GenerateJobEntity> updater) {
-        GenerateJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new NoSuchElementException("Job not found: " + jobId));
-        updater.accept(job);
-        job.setUpdatedAt(LocalDateTime.now());
-        jobRepository.save(job);
+    /**
+     * 단일 필드 $set (CANCELED Job은 갱신하지 않음)
+     */
+    private void updateField(String jobId, String field, Object value) {
+        GenerateJobEntity updated = mongoTemplate.findAndModify(
+                statusFields(Query.query(Criteria.where("_id").is(jobId)
+                        .and("status").ne(JobStatus.CANCELED))),
+                new Update().set(field, value).set("updatedAt", LocalDateTime.now()).inc("revision", 1),
+                RETURN_NEW,
+                GenerateJobEntity.class);
+
+        if (updated == null) {
+            ensureExists(jobId);
+            log.info("[KidsJobService] 취소된 Job 필드 업데이트 무시 | jobId={} | field={}", jobId, field);
+            return;
+        }
+        jobStatusPublisher.publish(updated);
+    }
+
+    /**
+     * findAndModify 응답은 상태 이벤트에 필요한 필드만 (결과 URL/스크린샷 맵 등은 제외)
+     */
+    private Query statusFields(Query query) {
+        query.fields().include("status", "stage", "errorMessage", "updatedAt");
+        return query;
+    }
+
+    /**
+     * 조건 불일치 시에만 호출 - 존재하지 않는 Job이면 기존과 동일하게 예외
+     */
+    private void ensureExists(String jobId) {
+        if (!jobRepository.existsById(jobId)) {
+            throw new NoSuchElementException("Job not found: " + jobId);
+        }
     }
 }
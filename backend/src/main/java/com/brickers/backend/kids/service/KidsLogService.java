@@ -1,39 +1,48 @@
 package com.brickers.backend.kids.service;
 
+import com.brickers.backend.job.entity.JobEvent;
+import com.brickers.backend.job.event.JobEventBus;
 import com.brickers.backend.kids.dto.AgentLogRequest;
 import com.brickers.backend.kids.entity.AgentTrace;
 import com.brickers.backend.kids.repository.AgentTraceRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 📝 KidsLogService
  * 에이전트 로그 스트리밍(SSE), 트레이스 저장 및 로그 버퍼 관리를 담당합니다.
+ *
+ * - Job별 로그는 고정 크기 링 버퍼에 시퀀스 번호와 함께 보관
+ * - SSE event id = 발행 시 부여한 ObjectId (인스턴스 간 고유) → 재연결 시 Last-Event-ID 이후만 재전송
+ * - 구독자 전송은 SseFanout에 위임 (콜백 스레드는 큐에 넣고 바로 반환)
+ * - 로그는 JobEventBus로 발행 → 다른 인스턴스에 붙은 SSE 구독자도 수신
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KidsLogService {
 
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
     private final AgentTraceRepository agentTraceRepository;
+    private final AgentTraceWriter agentTraceWriter;
+    private final SseFanout sseFanout;
+    private final JobEventBus jobEventBus;
 
     private static final int MAX_LOG_BUFFER_SIZE = 100;
-    private final ConcurrentHashMap<String, List<String>> agentLogBuffer = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<SseEmitter>> agentLogEmitters = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Long> agentLogLastWrite = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AgentLogRingBuffer> agentLogBuffer = new ConcurrentHashMap<>();
 
     /**
      * 에이전트 트레이스 저장 및 SSE 전송
@@ -51,11 +60,8 @@ public class KidsLogService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        try {
-            agentTraceRepository.save(trace);
-        } catch (Exception e) {
-            log.error("[AgentTrace] DB 저장 실패: {}", e.getMessage());
-        }
+        // DB 저장은 write-behind 버퍼에 위임 (요청 스레드는 큐에 넣고 바로 반환)
+        agentTraceWriter.enqueue(trace);
 
         if (!"TRACE".equals(request.getStep())) {
             addAgentLog(jobId, request.getStep(), request.getMessage());
@@ -63,84 +69,86 @@ public class KidsLogService {
     }
 
     /**
-     * 로그 버퍼링 및 SSE 푸시
+     * 로그 발행 - JobEventBus를 통해 모든 인스턴스(자기 자신 포함)의 버퍼/구독자에 전달
+     * - id는 여기서 한 번만 부여 → 어느 인스턴스에서 받아도 같은 SSE event id
      */
     public void addAgentLog(String jobId, String step, String message) {
-        String logEntry = "[" + step + "] " + message;
-        log.debug("[AgentLog] jobId={} | {}", jobId, logEntry);
-
-        List<String> buffer = agentLogBuffer.computeIfAbsent(jobId,
-                k -> Collections.synchronizedList(new ArrayList<>()));
-        synchronized (buffer) {
-            buffer.add(logEntry);
-            while (buffer.size() > MAX_LOG_BUFFER_SIZE) {
-                buffer.remove(0);
-            }
+        jobEventBus.publish(JobEvent.builder()
+                .id(new ObjectId().toHexString())
+                .jobId(jobId)
+                .type(JobEvent.Type.AGENT_LOG)
+                .step(step)
+                .message(message)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @PostConstruct
+    void subscribeJobEvents() {
+        jobEventBus.subscribe(this::onJobEvent);
+    }
+
+    /**
+     * 이벤트 수신 → 로그 버퍼링 및 SSE 푸시 (전송은 SseFanout이 비동기로 처리)
+     */
+    private void onJobEvent(JobEvent event) {
+        if (event.getType() != JobEvent.Type.AGENT_LOG) {
+            return;
         }
-        agentLogLastWrite.put(jobId, System.currentTimeMillis());
-
-        List<SseEmitter> emitters = agentLogEmitters.get(jobId);
-        if (emitters != null) {
-            List<SseEmitter> dead = new ArrayList<>();
-            for (SseEmitter emitter : emitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("agent-log")
-                            .data(logEntry, new MediaType("text", "plain", StandardCharsets.UTF_8)));
-                } catch (IOException e) {
-                    dead.add(emitter);
-                }
-            }
-            emitters.removeAll(dead);
+        if (event.getId() == null || !ObjectId.isValid(event.getId())) {
+            return;
+        }
+        String jobId = event.getJobId();
+        AgentLogRingBuffer.Entry entry = new AgentLogRingBuffer.Entry(new ObjectId(event.getId()), event.getStep(),
+                event.getMessage());
+        bufferOf(jobId).add(entry);
+        log.debug("[AgentLog] jobId={} | id={} | step={}", jobId, entry.id(), entry.step());
+
+        if (sseFanout.hasSubscribers(jobId)) {
+            sseFanout.publish(jobId, toEvent(entry));
         }
     }
 
+    private AgentLogRingBuffer bufferOf(String jobId) {
+        return agentLogBuffer.computeIfAbsent(jobId, k -> new AgentLogRingBuffer(MAX_LOG_BUFFER_SIZE));
+    }
+
     /**
      * SSE 구독
+     *
+     * @param lastEventId 재연결 시 브라우저가 보내는 Last-Event-ID (없으면 버퍼 전체 재전송)
      */
-    public SseEmitter subscribeAgentLogs(String jobId) {
+    public SseEmitter subscribeAgentLogs(String jobId, String lastEventId) {
         SseEmitter emitter = new SseEmitter(1_800_000L); // 30분 타임아웃
-
-        List<SseEmitter> emitterList = agentLogEmitters.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>());
-        List<String> buffer = agentLogBuffer.get(jobId);
-
-        if (buffer != null) {
-            synchronized (buffer) {
-                emitterList.add(emitter);
-                for (String logEntry : buffer) {
-                    try {
-                        emitter.send(SseEmitter.event()
-                                .name("agent-log")
-                                .data(logEntry, new MediaType("text", "plain", StandardCharsets.UTF_8)));
-                    } catch (IOException e) {
-                        break;
-                    }
-                }
+        ObjectId resumeAfter = parseLastEventId(lastEventId);
+
+        // 구독자를 먼저 등록한 뒤 버퍼를 읽음 → 그 사이 들어온 로그는 실시간 큐와 재전송 양쪽에 들어가고
+        // 구독자 중복 제거(event id)가 걸러냄 (등록 전에 버퍼를 읽으면 그 사이 로그가 어느 쪽에도 안 실림)
+        sseFanout.register(jobId, emitter, () -> {
+            List<SseFanout.Event> backlog = new ArrayList<>();
+            AgentLogRingBuffer buffer = agentLogBuffer.get(jobId);
+            if (buffer != null) {
+                buffer.since(resumeAfter).forEach(entry -> backlog.add(toEvent(entry)));
             }
-        } else {
-            emitterList.add(emitter);
-        }
-
-        try {
-            emitter.send(SseEmitter.event().name("connected").data("ok"));
-        } catch (IOException ignored) {
-        }
-
-        emitter.onCompletion(() -> removeEmitter(jobId, emitter));
-        emitter.onTimeout(() -> removeEmitter(jobId, emitter));
-        emitter.onError(e -> removeEmitter(jobId, emitter));
+            backlog.add(new SseFanout.Event(null, "connected", "ok", null));
+            return backlog;
+        });
 
         return emitter;
     }
 
-    private void removeEmitter(String jobId, SseEmitter emitter) {
-        List<SseEmitter> emitters = agentLogEmitters.get(jobId);
-        if (emitters != null) {
-            emitters.remove(emitter);
-            if (emitters.isEmpty()) {
-                agentLogEmitters.remove(jobId);
-            }
+    private SseFanout.Event toEvent(AgentLogRingBuffer.Entry entry) {
+        return new SseFanout.Event(entry.id().toHexString(), "agent-log", entry.format(), TEXT_UTF8);
+    }
+
+    /**
+     * Last-Event-ID → ObjectId (없거나 형식이 다르면 null = 버퍼 전체 재전송)
+     */
+    private ObjectId parseLastEventId(String lastEventId) {
+        if (lastEventId == null || !ObjectId.isValid(lastEventId.trim())) {
+            return null;
         }
+        return new ObjectId(lastEventId.trim());
     }
 
     /**
@@ -151,10 +159,9 @@ public class KidsLogService {
         long now = System.currentTimeMillis();
         long staleThreshold = 10 * 60 * 1000L; // 10분
 
-        agentLogLastWrite.forEach((jobId, lastWrite) -> {
-            if (now - lastWrite > staleThreshold) {
-                agentLogBuffer.remove(jobId);
-                agentLogLastWrite.remove(jobId);
+        agentLogBuffer.forEach((jobId, buffer) -> {
+            if (now - buffer.lastWriteAt() > staleThreshold) {
+                agentLogBuffer.remove(jobId, buffer);
                 log.debug("[AgentLog] Cleaned up stale buffer for jobId={}", jobId);
             }
         });
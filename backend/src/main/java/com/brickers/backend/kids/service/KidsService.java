@@ -1,16 +1,20 @@
 package com.brickers.backend.kids.service;
 
 import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.job.entity.JobOutboxEntry;
 import com.brickers.backend.job.entity.KidsLevel;
 import com.brickers.backend.job.entity.JobStage;
 import com.brickers.backend.job.entity.JobStatus;
 import com.brickers.backend.job.repository.GenerateJobRepository;
+import com.brickers.backend.job.service.JobOutboxRelay;
 import com.brickers.backend.kids.dto.AgentLogRequest;
+import com.brickers.backend.kids.dto.QueuePositionResponse;
 import com.brickers.backend.kids.entity.AgentTrace;
-import com.brickers.backend.sqs.service.SqsProducerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -28,59 +32,83 @@ public class KidsService {
     private final KidsImageService kidsImageService;
     private final KidsJobService kidsJobService;
     private final KidsLogService kidsLogService;
-    private final KidsAsyncWorker kidsAsyncWorker;
-    private final SqsProducerService sqsProducerService;
     private final AiRenderClient aiRenderClient;
+    private final JobStatusStreamService jobStatusStreamService;
+    private final GenerationScheduler generationScheduler;
+    private final JobOutboxRelay jobOutboxRelay;
 
     @Value("${aws.sqs.enabled:false}")
     private boolean sqsEnabled;
 
     /**
      * 🚀 브릭 생성 시작 (Facade)
+     * - clientIp: 비로그인 요청의 대기열 유저 키 (로그인 시 무시)
      */
     public Map<String, Object> startGeneration(String userId, String sourceImageUrl, String age, int budget,
-            String title, String prompt, String language) {
+            String title, String prompt, String language, String clientIp) {
         log.info("AI 생성 요청 접수: userId={}, title={}", userId, title);
 
         // 1. 이미지 확보 (프롬프트가 있으면 DALL-E 생성 및 S3 업로드)
+        // - AsyncWorker 경로는 파이프라인 안에서 생성하므로 여기서는 SQS 경로만 동기 생성
         String finalImageUrl = sourceImageUrl;
-        if ((finalImageUrl == null || finalImageUrl.isBlank()) && (prompt != null && !prompt.isBlank())) {
+        boolean needsImage = finalImageUrl == null || finalImageUrl.isBlank();
+        if (needsImage && (prompt == null || prompt.isBlank())) {
+            throw new IllegalArgumentException("sourceImageUrl or prompt is required");
+        }
+        if (needsImage && sqsEnabled) {
             finalImageUrl = kidsImageService.generateAndStoreImage(userId, prompt, age, title, language);
         }
 
-        if (finalImageUrl == null || finalImageUrl.isBlank()) {
-            throw new IllegalArgumentException("sourceImageUrl or prompt is required");
-        }
+        // 2. outbox 먼저 기록 - Job 저장 직후 서버가 죽어도 relay가 이어서 전송
+        String jobId = new ObjectId().toHexString();
+        JobOutboxEntry outbox = jobOutboxRelay.record(JobOutboxEntry.builder()
+                .jobId(jobId).userId(userId)
+                .clientKey(userId == null && clientIp != null ? "ip:" + clientIp : null)
+                .sourceImageUrl(finalImageUrl).prompt(prompt).title(title)
+                .age(age).budget(budget).language(language)
+                .build());
 
-        // 2. Job 엔티티 생성 및 기본값 설정
+        // 3. Job 엔티티 생성 및 기본값 설정
         KidsLevel kidsLevel = KidsLevel.fromAge(age);
         GenerateJobEntity job = GenerateJobEntity.builder()
+                .id(jobId)
                 .userId(userId)
                 .level(kidsLevel)
                 .status(JobStatus.QUEUED).stage(JobStage.THREE_D_PREVIEW)
                 .sourceImageUrl(finalImageUrl).title(title).language(language)
+                .age(age).budget(budget)
                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now())
                 .stageUpdatedAt(LocalDateTime.now()).build();
         job.ensureDefaults();
         jobRepository.save(job);
 
-        // 3. 첫 로그 기록 (준비 단계)
-        kidsLogService.addAgentLog(job.getId(), "QUEUE", "요청을 접수했어요. 곧 작업을 시작할게요.");
-
-        // 4. 작업 위임 (SQS 또는 AsyncWorker)
-        if (sqsEnabled) {
-            sqsProducerService.sendJobRequest(job.getId(), userId, finalImageUrl, age, budget, language);
-        } else {
-            kidsAsyncWorker.processGenerationAsync(job.getId(), userId, finalImageUrl, age, budget, language);
+        // 4. 첫 로그 기록 (준비 단계)
+        kidsLogService.addAgentLog(jobId, "QUEUE", "요청을 접수했어요. 곧 작업을 시작할게요.");
+
+        // 5. 작업 위임 - outbox relay가 플랜별 공정 대기열을 거쳐 SQS 또는 AsyncWorker로 전송
+        QueuePositionResponse queue;
+        try {
+            queue = jobOutboxRelay.relayNow(outbox);
+        } catch (TaskRejectedException e) {
+            // 대기열 한도 초과 → QUEUED로 남기지 않고 실패 처리 후 503
+            log.warn("⚠️ [KidsService] 생성 대기열 포화 | jobId={} | error={}", jobId, e.getMessage());
+            job.markFailed("서버가 혼잡해요. 잠시 후 다시 시도해 주세요.");
+            jobRepository.save(job);
+            throw e;
         }
 
-        return Map.of("jobId", job.getId(), "status", JobStatus.QUEUED);
+        return Map.of("jobId", jobId, "status", JobStatus.QUEUED,
+                "queuePosition", queue.position(), "estimatedWaitSeconds", queue.estimatedWaitSeconds());
+    }
+
+    public QueuePositionResponse getQueuePosition(String jobId) {
+        return generationScheduler.positionOf(jobId);
     }
 
     // --- 하위 호환 오버로딩 ---
     public Map<String, Object> startGeneration(String userId, String sourceImageUrl, String age, int budget,
             String title) {
-        return startGeneration(userId, sourceImageUrl, age, budget, title, null, null);
+        return startGeneration(userId, sourceImageUrl, age, budget, title, null, null, null);
     }
 
     // --- 비즈니스 로직 전문 서비스 위임 ---
@@ -88,6 +116,18 @@ public class KidsService {
         return kidsJobService.getJobStatus(jobId);
     }
 
+    public boolean isJobNotModified(String jobId, String ifNoneMatch) {
+        return jobStatusStreamService.isNotModified(jobId, ifNoneMatch);
+    }
+
+    public String jobEtag(GenerateJobEntity job) {
+        return jobStatusStreamService.etagOf(job);
+    }
+
+    public SseEmitter subscribeJobStatus(String jobId) {
+        return jobStatusStreamService.subscribe(jobId);
+    }
+
     public void updateJobStage(String jobId, String stage) {
         kidsJobService.updateJobStage(jobId, stage);
     }
@@ -116,8 +156,8 @@ public class KidsService {
         kidsLogService.saveAgentTrace(jobId, req);
     }
 
-    public SseEmitter subscribeAgentLogs(String jobId) {
-        return kidsLogService.subscribeAgentLogs(jobId);
+    public SseEmitter subscribeAgentLogs(String jobId, String lastEventId) {
+        return kidsLogService.subscribeAgentLogs(jobId, lastEventId);
     }
 
     public List<AgentTrace> getAgentTraces(String jobId) {
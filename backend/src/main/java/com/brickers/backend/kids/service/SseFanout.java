@@ -0,0 +1,229 @@
+package com.brickers.backend.kids.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 📡 SseFanout
+ * SSE 브로드캐스트를 호출 스레드에서 분리합니다.
+ *
+ * - 구독자마다 bounded queue를 두고, 전용 executor가 구독자 단위로 순서대로 전송
+ * - publish는 큐에 넣기만 하므로 느린 브라우저가 콜백 스레드/다른 구독자를 막지 않음
+ * - 큐가 넘친 구독자는 연결을 끊음 → 브라우저가 Last-Event-ID로 재연결해 빠진 부분만 재수신
+ * - 구독자별로 최근 보낸 event id를 기억해 중복 제거 (재전송/실시간 겹침, 여러 인스턴스 경로로 온 같은 이벤트)
+ * - 주기적인 heartbeat(comment)로 프록시 idle timeout 방지
+ */
+@Slf4j
+@Component
+public class SseFanout {
+
+    private final Executor executor;
+    private final Counter droppedCounter;
+
+    @Value("${app.sse.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    @Value("${app.sse.dedupe-window:512}")
+    private int dedupeWindow;
+
+    private final ConcurrentHashMap<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SseFanout(@Qualifier("sseExecutor") Executor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.droppedCounter = Counter.builder("sse.events.dropped")
+                .description("구독자 큐 overflow로 버려진 SSE 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.subscribers", subscribers, m -> m.values().stream().mapToInt(List::size).sum())
+                .description("현재 SSE 구독자 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth", subscribers, m -> m.values().stream()
+                        .flatMap(List::stream).mapToInt(s -> s.queue.size()).sum())
+                .description("전송 대기 중인 SSE 이벤트 수 (전체 구독자 합)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * SSE 이벤트 (전송 시점에 SseEventBuilder로 변환)
+     *
+     * @param id SSE event id (null이면 중복 체크 없이 전송 - connected, heartbeat 등)
+     */
+    public record Event(String id, String name, Object data, MediaType mediaType) {
+    }
+
+    /** 앞선 이벤트를 모두 보낸 뒤 연결을 정상 종료하는 표식 */
+    public static final Event CLOSE = new Event(null, null, null, null);
+
+    /**
+     * 구독자 등록
+     *
+     * @param backlog 재전송할 이벤트 - 구독자를 목록에 올린 뒤 같은 락 안에서 호출
+     *                (그 사이 발행된 실시간 이벤트는 backlog 뒤에 큐잉되고, 겹치는 건 중복 제거로 걸러짐)
+     */
+    public void register(String topic, SseEmitter emitter, Supplier<List<Event>> backlog) {
+        Subscriber subscriber = new Subscriber(topic, emitter, subscriberQueueSize, dedupeWindow);
+        synchronized (subscriber) {
+            subscribers.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+            for (Event event : backlog.get()) {
+                subscriber.offer(event);
+            }
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+    }
+
+    /**
+     * 토픽의 모든 구독자에게 비동기 전송
+     */
+    public void publish(String topic, Event event) {
+        List<Subscriber> list = subscribers.get(topic);
+        if (list == null) {
+            return;
+        }
+        for (Subscriber subscriber : list) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * 토픽의 모든 구독자 연결 종료 (대기 중인 이벤트 전송 후)
+     */
+    public void complete(String topic) {
+        publish(topic, CLOSE);
+    }
+
+    public boolean hasSubscribers(String topic) {
+        List<Subscriber> list = subscribers.get(topic);
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * Heartbeat (15초마다) - 프록시/로드밸런서 idle timeout 방지
+     */
+    @Scheduled(fixedRate = 15000)
+    public void sendHeartbeats() {
+        Event ping = new Event(null, null, "ping", null);
+        subscribers.values().forEach(list -> list.forEach(s -> s.offer(ping)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.topic, (k, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * SSE 구독자 - 전용 큐 + 단일 drain 작업으로 전송 순서 보장
+     */
+    private final class Subscriber {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** 최근 큐잉한 event id (오래된 것부터 밀려남) */
+        private final Map<String, Boolean> recentIds;
+        private volatile boolean closed = false;
+
+        private Subscriber(String topic, SseEmitter emitter, int queueSize, int dedupeWindow) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.recentIds = new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > dedupeWindow;
+                }
+            };
+        }
+
+        /**
+         * 전송 큐에 추가 (이미 큐잉한 event id는 무시)
+         */
+        synchronized void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (event.id() != null && recentIds.putIfAbsent(event.id(), Boolean.TRUE) != null) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                droppedCounter.increment();
+                log.warn("⚠️ [SSE] 느린 구독자 연결 종료 (lagging) | topic={} | queued={}", topic, queue.size());
+                closed = true;
+                queue.clear();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false);
+                    log.warn("⚠️ [SSE] 전송 작업 등록 실패 | topic={} | error={}", topic, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    if (event == CLOSE) {
+                        closed = true;
+                        emitter.complete();
+                        break;
+                    }
+                    emitter.send(toBuilder(event));
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // drain 종료 직후 들어온 이벤트 처리
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toBuilder(Event event) {
+            if (event.name() == null) {
+                return SseEmitter.event().comment(String.valueOf(event.data()));
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name());
+            if (event.id() != null) {
+                builder.id(event.id());
+            }
+            return event.mediaType() != null
+                    ? builder.data(event.data(), event.mediaType())
+                    : builder.data(event.data());
+        }
+    }
+}
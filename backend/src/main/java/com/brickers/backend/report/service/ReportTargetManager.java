@@ -2,6 +2,7 @@ package com.brickers.backend.report.service;
 
 import com.brickers.backend.gallery.entity.GalleryPostEntity;
 import com.brickers.backend.gallery.repository.GalleryPostRepository;
+import com.brickers.backend.gallery.service.GalleryPageCache;
 import com.brickers.backend.inquiry.entity.Inquiry;
 import com.brickers.backend.inquiry.repository.InquiryRepository;
 import com.brickers.backend.job.entity.GenerateJobEntity;
@@ -33,6 +34,7 @@ public class ReportTargetManager {
 
     private final UserRepository userRepository;
     private final GalleryPostRepository galleryPostRepository;
+    private final GalleryPageCache galleryPageCache;
     private final GenerateJobRepository generateJobRepository;
     private final InquiryRepository inquiryRepository;
     private final UploadFileRepository uploadFileRepository;
@@ -118,6 +120,7 @@ public class ReportTargetManager {
                 post.setDeleted(true);
                 post.setUpdatedAt(LocalDateTime.now());
                 galleryPostRepository.save(post);
+                galleryPageCache.invalidateAll();
                 yield "갤러리 게시글 삭제 처리됨 (title=" + post.getTitle() + ")";
             }
             case JOB -> {
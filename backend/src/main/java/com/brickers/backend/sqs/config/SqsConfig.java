@@ -2,11 +2,13 @@ package com.brickers.backend.sqs.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
 @Configuration
@@ -42,4 +44,24 @@ public class SqsConfig {
                     .build();
         }
     }
+
+    /**
+     * 비동기 Client (REQUEST 배치 전송용 - 요청 스레드가 SQS 응답을 기다리지 않음)
+     * - 사용처(SqsProducerService)와 같은 조건: SQS 비활성 환경에서는 Netty 이벤트 루프를 띄우지 않음
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
+    public SqsAsyncClient sqsAsyncClient() {
+        if (accessKeyId != null && !accessKeyId.isBlank()) {
+            return SqsAsyncClient.builder()
+                    .region(Region.of(awsRegion))
+                    .credentialsProvider(StaticCredentialsProvider.create(
+                            AwsBasicCredentials.create(accessKeyId, secretAccessKey)
+                    ))
+                    .build();
+        }
+        return SqsAsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .build();
+    }
 }
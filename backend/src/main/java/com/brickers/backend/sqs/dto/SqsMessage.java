@@ -1,14 +1,15 @@
 package com.brickers.backend.sqs.dto;
 
+import com.brickers.backend.kids.dto.AiProcessResult;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * SQS 메시지 공통 구조
@@ -26,7 +27,8 @@ public class SqsMessage {
      */
     public enum MessageType {
         REQUEST, // Backend → AI Server (작업 요청)
-        RESULT // AI Server → Backend (작업 결과)
+        RESULT, // AI Server → Backend (작업 결과)
+        CANCEL // Backend → AI Server (작업 취소)
     }
 
     private MessageType type;
@@ -39,21 +41,25 @@ public class SqsMessage {
     private String age;
     private Integer budget;
     private String language; // [New]
+    private String fromStage; // 재시도: 이 단계부터 재개 (기존 산출물은 result로 전달)
 
-    // RESULT 필드
-    private Boolean success;
-    private String correctedUrl;
-    private String glbUrl;
-    private String ldrUrl;
-    private String initialLdrUrl; // [New]
-    private String bomUrl;
-    private String pdfUrl; // [New] PDF URL
-    private String backgroundUrl; // Background image URL (Nano Banana)
-    private Integer parts;
-    private Integer finalTarget;
-    private List<String> tags;
-    private String errorMessage;
-    private Double estCost; // [New]
-    private Integer tokenCount; // [New]
-    private Integer stabilityScore; // [New]
+    /**
+     * 결과 / 산출물 (AiProcessResult 스키마 그대로, 최상위에 펼쳐서 주고받음)
+     * - RESULT: AI 서버 처리 결과
+     * - REQUEST(재시도): 이미 만들어진 산출물 (correctedUrl / glbUrl / initialLdrUrl)
+     */
+    @JsonUnwrapped
+    private AiProcessResult result;
+
+    /**
+     * RESULT → 공통 결과 스키마
+     * - SQS 결과는 success가 명시적으로 true일 때만 성공
+     */
+    public AiProcessResult toResult() {
+        AiProcessResult r = result == null ? new AiProcessResult() : result;
+        if (!Boolean.TRUE.equals(r.getSuccess())) {
+            r.setSuccess(false);
+        }
+        return r;
+    }
 }
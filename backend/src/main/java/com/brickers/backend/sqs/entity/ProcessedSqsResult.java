@@ -0,0 +1,47 @@
+package com.brickers.backend.sqs.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * SQS RESULT 처리 기록 (중복 처리 방지용)
+ *
+ * - _id = jobId + 결과 버전 (SqsResultIdempotencyStore.keyOf)
+ * - 반영 전에 CLAIMED로 insert (unique _id로 선점) → 반영 성공 시 DONE
+ * - 여러 백엔드 인스턴스/재시작 사이에서도 같은 결과를 두 번 반영하지 않도록 공유
+ */
+@Document(collection = "sqs_processed_results")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedSqsResult {
+
+    @Id
+    private String id;
+
+    private String jobId;
+
+    /** 마지막으로 이 결과를 전달한 SQS messageId (디버깅용) */
+    private String messageId;
+
+    private Status status;
+
+    /** 선점 시각 - 오래된 CLAIMED는 처리하던 인스턴스가 죽은 것으로 보고 다른 전달이 인계 */
+    private LocalDateTime claimedAt;
+
+    /**
+     * ✅ TTL 기준 시간 (7일 후 자동 삭제)
+     * - SQS 메시지 보존 기간(최대 14일) 안의 재전달은 대부분 수 분 내에 발생
+     */
+    @Indexed(name = "ttl_createdAt", expireAfterSeconds = 60 * 60 * 24 * 7)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        CLAIMED, DONE
+    }
+}
@@ -0,0 +1,7 @@
+package com.brickers.backend.sqs.repository;
+
+import com.brickers.backend.sqs.entity.ProcessedSqsResult;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ProcessedSqsResultRepository extends MongoRepository<ProcessedSqsResult, String> {
+}
@@ -3,34 +3,59 @@ package com.brickers.backend.sqs.service;
 import com.brickers.backend.sqs.dto.SqsMessage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * SQS Consumer Service
  * - RESULT Queue에서 AI Server 처리 결과 수신
  * - GenerateJobEntity 업데이트
+ *
+ * 동작 방식
+ * - N개의 long-poll 루프가 항상 receive 요청을 걸어둠 (결과가 몰려도 5초 대기 없음)
+ * - 수신한 배치는 bounded worker pool에서 병렬 처리
+ * - 처리 완료분은 DeleteMessageBatch 한 번으로 ack
+ * - 오래 걸리는 메시지는 ChangeMessageVisibility로 가시성 타임아웃 연장
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
-public class SqsConsumerService {
+public class SqsConsumerService implements SmartLifecycle {
 
     private final SqsClient sqsClient;
     private final SqsResultHandler sqsResultHandler;
+    private final SqsResultIdempotencyStore idempotencyStore;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
@@ -43,53 +68,150 @@ public class SqsConsumerService {
     @Value("${aws.sqs.polling.wait-time:10}")
     private int waitTimeSeconds;
 
-    // 중복 처리 방지용 캐시 (최근 1000개)
-    private final Set<String> processedMessageIds = new HashSet<>();
-    private static final int MAX_CACHE_SIZE = 1000;
+    /** 동시에 걸어두는 long-poll 루프 수 */
+    @Value("${aws.sqs.polling.concurrency:2}")
+    private int pollerCount;
+
+    /** 메시지 처리 worker 수 */
+    @Value("${aws.sqs.polling.worker-threads:8}")
+    private int workerThreads;
+
+    /** 수신 시 적용할 가시성 타임아웃 (초) */
+    @Value("${aws.sqs.polling.visibility-timeout:60}")
+    private int visibilityTimeoutSeconds;
+
+    /** 폴링 실패 시 재시도 대기 (ms) */
+    @Value("${aws.sqs.polling.error-backoff:5000}")
+    private long errorBackoffMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean running = false;
+
+    private ExecutorService pollers;
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService visibilityExtender;
+    private Timer handlerTimer;
+    private Timer receiveLagTimer;
+
+    @Override
+    public void start() {
+        handlerTimer = Timer.builder("sqs.consumer.handler.latency")
+                .description("RESULT 메시지 처리 시간")
+                .register(meterRegistry);
+        receiveLagTimer = Timer.builder("sqs.consumer.receive.lag")
+                .description("RESULT 메시지 전송 → 수신까지 지연")
+                .register(meterRegistry);
+        Gauge.builder("sqs.consumer.inflight", inFlight, AtomicInteger::get)
+                .description("처리 중인 RESULT 메시지 수")
+                .register(meterRegistry);
+
+        // 처리 대기 메시지는 최대 (poller 수 x 배치 크기)를 넘지 않음
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, pollerCount * maxMessages)),
+                namedThreads("sqs-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        visibilityExtender = Executors.newSingleThreadScheduledExecutor(namedThreads("sqs-visibility-"));
+        pollers = Executors.newFixedThreadPool(pollerCount, namedThreads("sqs-poller-"));
+
+        running = true;
+        for (int i = 0; i < pollerCount; i++) {
+            pollers.submit(this::pollLoop);
+        }
+        log.info("✅ [SQS Consumer] 시작 | pollers={} | workers={} | visibilityTimeout={}s",
+                pollerCount, workerThreads, visibilityTimeoutSeconds);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        // poller는 현재 long-poll이 끝날 때까지 기다렸다가, 받은 배치를 마저 처리하고 종료
+        shutdown(pollers, waitTimeSeconds + 5L);
+        shutdown(workers, 30L);
+        shutdown(visibilityExtender, 1L);
+        log.info("🛑 [SQS Consumer] 종료 | inFlight={}", inFlight.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
 
     /**
-     * SQS 메시지 폴링 (5초마다)
-     * - RESULT Queue만 폴링 (REQUEST는 별도 Queue로 분리됨)
+     * Long-poll 루프
+     * - 배치 처리가 끝나야 다음 receive를 걸어서 자연스럽게 backpressure 적용
      */
-    @Scheduled(fixedDelay = 5000, initialDelay = 10000)
-    public void pollMessages() {
-        try {
-            ReceiveMessageRequest request = ReceiveMessageRequest.builder()
-                    .queueUrl(resultQueueUrl)
-                    .maxNumberOfMessages(maxMessages)
-                    .waitTimeSeconds(waitTimeSeconds)
-                    .build();
+    private void pollLoop() {
+        while (running) {
+            try {
+                pollOnce();
+            } catch (Exception e) {
+                log.error("❌ [SQS Consumer] 폴링 실패 | error={}", e.getMessage(), e);
+                sleepQuietly(errorBackoffMs);
+            }
+        }
+    }
 
-            List<Message> messages = sqsClient.receiveMessage(request).messages();
+    private void pollOnce() {
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                .queueUrl(resultQueueUrl)
+                .maxNumberOfMessages(maxMessages)
+                .waitTimeSeconds(waitTimeSeconds)
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .messageSystemAttributeNames(MessageSystemAttributeName.SENT_TIMESTAMP)
+                .build();
 
-            if (!messages.isEmpty()) {
-                log.info("📥 [SQS Consumer] RESULT 메시지 수신 | count={}", messages.size());
-            }
+        List<Message> messages = sqsClient.receiveMessage(request).messages();
+        if (messages.isEmpty()) {
+            return;
+        }
 
-            for (Message message : messages) {
-                processMessage(message);
+        log.info("📥 [SQS Consumer] RESULT 메시지 수신 | count={}", messages.size());
+        messages.forEach(this::recordReceiveLag);
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            futures.add(CompletableFuture.supplyAsync(() -> handle(message) ? message : null, workers));
+        }
+
+        List<Message> acked = new ArrayList<>(messages.size());
+        for (CompletableFuture<Message> future : futures) {
+            Message done = future.join();
+            if (done != null) {
+                acked.add(done);
             }
+        }
+        deleteMessages(acked);
+    }
 
-        } catch (Exception e) {
-            log.error("❌ [SQS Consumer] 폴링 실패 | error={}", e.getMessage(), e);
+    /**
+     * 개별 메시지 처리 (가시성 연장 + 메트릭)
+     *
+     * @return true면 ack(삭제) 대상
+     */
+    private boolean handle(Message message) {
+        inFlight.incrementAndGet();
+        long extendPeriod = Math.max(1L, visibilityTimeoutSeconds / 2L);
+        ScheduledFuture<?> extender = visibilityExtender.scheduleAtFixedRate(
+                () -> extendVisibility(message), extendPeriod, extendPeriod, TimeUnit.SECONDS);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return processMessage(message);
+        } finally {
+            extender.cancel(false);
+            sample.stop(handlerTimer);
+            inFlight.decrementAndGet();
         }
     }
 
     /**
      * RESULT 메시지 처리
+     *
+     * @return true면 ack(삭제) 대상, false면 가시성 타임아웃 후 재수신
      */
-    private void processMessage(Message message) {
+    private boolean processMessage(Message message) {
         String messageId = message.messageId();
-        String receiptHandle = message.receiptHandle();
 
         try {
-            // 중복 처리 방지
-            if (processedMessageIds.contains(messageId)) {
-                log.warn("⚠️ [SQS Consumer] 중복 메시지 무시 | messageId={}", messageId);
-                deleteMessage(receiptHandle);
-                return;
-            }
-
             // JSON 파싱
             SqsMessage sqsMessage = objectMapper.readValue(message.body(), SqsMessage.class);
 
@@ -97,63 +219,139 @@ public class SqsConsumerService {
             if (sqsMessage.getType() != SqsMessage.MessageType.RESULT) {
                 log.warn("⚠️ [SQS Consumer] RESULT Queue에 잘못된 메시지 | messageId={} | type={}",
                         messageId, sqsMessage.getType());
-                deleteMessage(receiptHandle);
-                return;
+                return true;
             }
 
-            log.info("📌 [SQS Consumer] RESULT 메시지 처리 시작 | jobId={} | success={}",
-                    sqsMessage.getJobId(), sqsMessage.getSuccess());
+            // 중복 처리 방지 (jobId + 결과 버전) - 반영 전에 원자적으로 선점
+            String idempotencyKey = idempotencyStore.keyOf(sqsMessage, messageId);
+            if (!idempotencyStore.tryClaim(idempotencyKey, sqsMessage.getJobId(), messageId)) {
+                log.warn("⚠️ [SQS Consumer] 중복 메시지 무시 | messageId={} | key={}", messageId, idempotencyKey);
+                return true;
+            }
 
-            // 비즈니스 로직 위임 (Job 업데이트)
-            sqsResultHandler.handleResult(sqsMessage);
+            log.info("📌 [SQS Consumer] RESULT 메시지 처리 시작 | jobId={} | success={}",
+                    sqsMessage.getJobId(), sqsMessage.toResult().getSuccess());
 
-            // 처리 완료 - 메시지 삭제
-            deleteMessage(receiptHandle);
-            addToCache(messageId);
+            // 비즈니스 로직 위임 (Job 업데이트) - 실패하면 선점 해제 후 재수신
+            try {
+                sqsResultHandler.handleResult(sqsMessage);
+            } catch (java.util.NoSuchElementException e) {
+                // Job이 없으면 재시도해도 같음 → 처리된 것으로 기록
+                idempotencyStore.markProcessed(idempotencyKey);
+                throw e;
+            } catch (RuntimeException e) {
+                idempotencyStore.release(idempotencyKey);
+                throw e;
+            }
+            idempotencyStore.markProcessed(idempotencyKey);
 
             log.info("✅ [SQS Consumer] RESULT 메시지 처리 완료 | jobId={}", sqsMessage.getJobId());
+            return true;
 
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             log.error("❌ [SQS Consumer] JSON 파싱 실패 | messageId={} | error={}",
                     messageId, e.getMessage());
-            deleteMessage(receiptHandle);
+            return true;
 
         } catch (java.util.NoSuchElementException e) {
             log.error("❌ [SQS Consumer] Job not found | messageId={} | error={}",
                     messageId, e.getMessage());
-            deleteMessage(receiptHandle);
+            return true;
 
         } catch (Exception e) {
             log.error("❌ [SQS Consumer] 메시지 처리 실패 | messageId={} | error={}",
                     messageId, e.getMessage(), e);
+            return false;
         }
     }
 
     /**
-     * 메시지 삭제
+     * 메시지 일괄 삭제 (DeleteMessageBatch, 최대 10개)
      */
-    private void deleteMessage(String receiptHandle) {
+    private void deleteMessages(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
         try {
-            DeleteMessageRequest deleteRequest = DeleteMessageRequest.builder()
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .receiptHandle(messages.get(i).receiptHandle())
+                        .build());
+            }
+
+            DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
                     .queueUrl(resultQueueUrl)
-                    .receiptHandle(receiptHandle)
-                    .build();
+                    .entries(entries)
+                    .build());
 
-            sqsClient.deleteMessage(deleteRequest);
+            response.failed().forEach(f -> log.error("❌ [SQS Consumer] 메시지 삭제 실패 | messageId={} | code={} | error={}",
+                    messages.get(Integer.parseInt(f.id())).messageId(), f.code(), f.message()));
 
         } catch (Exception e) {
-            log.error("❌ [SQS Consumer] 메시지 삭제 실패 | error={}", e.getMessage());
+            log.error("❌ [SQS Consumer] 메시지 삭제 실패 | count={} | error={}", messages.size(), e.getMessage());
         }
     }
 
     /**
-     * 중복 방지 캐시 추가
+     * 처리 중인 메시지의 가시성 타임아웃 연장
      */
-    private void addToCache(String messageId) {
-        if (processedMessageIds.size() >= MAX_CACHE_SIZE) {
-            processedMessageIds.clear();
-            log.debug("🧹 [SQS Consumer] 캐시 클리어 | maxSize={}", MAX_CACHE_SIZE);
+    private void extendVisibility(Message message) {
+        try {
+            sqsClient.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                    .queueUrl(resultQueueUrl)
+                    .receiptHandle(message.receiptHandle())
+                    .visibilityTimeout(visibilityTimeoutSeconds)
+                    .build());
+            log.debug("⏳ [SQS Consumer] 가시성 타임아웃 연장 | messageId={}", message.messageId());
+        } catch (Exception e) {
+            log.warn("⚠️ [SQS Consumer] 가시성 연장 실패 | messageId={} | error={}",
+                    message.messageId(), e.getMessage());
+        }
+    }
+
+    private void recordReceiveLag(Message message) {
+        String sent = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+        if (sent == null) {
+            return;
+        }
+        try {
+            long lagMs = System.currentTimeMillis() - Long.parseLong(sent);
+            receiveLagTimer.record(Duration.ofMillis(Math.max(0L, lagMs)));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static void shutdown(ExecutorService executor, long timeoutSec) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSec, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        processedMessageIds.add(messageId);
     }
 }
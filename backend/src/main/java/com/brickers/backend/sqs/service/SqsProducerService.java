@@ -1,42 +1,176 @@
 package com.brickers.backend.sqs.service;
 
+import com.brickers.backend.job.entity.GenerateJobEntity;
+import com.brickers.backend.kids.dto.AiProcessResult;
 import com.brickers.backend.sqs.dto.SqsMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * SQS Producer Service
+ * - Backend → AI Server REQUEST/CANCEL 메시지 전송
+ *
+ * 동작 방식
+ * - 호출 스레드는 bounded queue에 넣고 CompletableFuture(messageId)를 바로 받음
+ * - 전용 스레드가 linger-ms 동안 최대 10건을 모아 SendMessageBatch 한 번으로 비동기 전송
+ * - 배치 중 실패한 항목만 다시 큐에 넣어 재시도 (senderFault = 메시지 자체 오류는 재시도 안 함)
+ * - 큐가 가득 차거나 종료 중이면 TaskRejectedException (생성 요청은 503)
+ * - 종료 시 남은 메시지를 보내고, 전송 중인 배치 응답까지 기다린 뒤 반환 (그 다음 SqsAsyncClient close)
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class SqsProducerService {
+@ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
+public class SqsProducerService implements SmartLifecycle {
 
-    private final SqsClient sqsClient;
+    /** SendMessageBatch 한도 (건수 / 전체 payload) */
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
     @Value("${aws.sqs.queue.request-url}")
     private String queueUrl;
 
+    @Value("${aws.sqs.producer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${aws.sqs.producer.batch-size:10}")
+    private int batchSize;
+
+    @Value("${aws.sqs.producer.linger-ms:20}")
+    private long lingerMs;
+
+    @Value("${aws.sqs.producer.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${aws.sqs.producer.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    /** 종료 시 전송 중인 배치 응답을 기다리는 최대 시간 */
+    @Value("${aws.sqs.producer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<Pending> queue;
+    private Thread sender;
+    private volatile boolean running = false;
+
+    /** 응답을 기다리는 SendMessageBatch 호출 */
+    private final Set<CompletableFuture<?>> inFlightBatches = ConcurrentHashMap.newKeySet();
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private DistributionSummary batchSummary;
+
+    /**
+     * 전송 대기 메시지
+     */
+    private static final class Pending {
+        private final SqsMessage message;
+        private final String body;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private int attempts;
+
+        private Pending(SqsMessage message, String body) {
+            this.message = message;
+            this.body = body;
+        }
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_ENTRIES));
+
+        Gauge.builder("sqs.producer.queue.depth", queue, BlockingQueue::size)
+                .description("전송 대기 중인 SQS 메시지 수")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("sqs.producer.sent")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("sqs.producer.retried")
+                .description("배치 일부 실패로 재전송한 메시지 수")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("sqs.producer.failed")
+                .register(meterRegistry);
+        batchSummary = DistributionSummary.builder("sqs.producer.batch.size")
+                .register(meterRegistry);
+
+        running = true;
+        sender = new Thread(this::sendLoop, "sqs-producer");
+        sender.setDaemon(true);
+        sender.start();
+        log.info("✅ [SQS Producer] 시작 | batchSize={} | linger={}ms | maxAttempts={}",
+                batchSize, lingerMs, maxAttempts);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            sender.join(shutdownTimeoutMs);
+            // 마지막 배치까지 응답을 받아야 future가 완료됨 → 이후 client close
+            CompletableFuture.allOf(inFlightBatches.toArray(CompletableFuture[]::new))
+                    .get(shutdownTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("⚠️ [SQS Producer] 전송 중 배치 응답 대기 시간 초과 | inFlight={}", inFlightBatches.size());
+        } catch (Exception e) {
+            // 개별 배치 실패는 각 Pending future에 이미 반영됨
+        }
+        log.info("🛑 [SQS Producer] 종료 | remaining={}", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
     /**
      * 작업 요청 메시지 전송 (Backend → AI Server)
+     *
+     * @return 전송 완료 시 messageId
      */
-    public void sendJobRequest(String jobId, String userId, String sourceImageUrl, String age, int budget,
-            String language) {
-        log.info("📤 [SQS Producer] REQUEST 메시지 생성 시작");
-        log.info("   - jobId: {}", jobId);
-        log.info("   - userId: {}", userId);
-        log.info("   - sourceImageUrl: {}", sourceImageUrl);
-        log.info("   - age: {}, budget: {}", age, budget);
-        log.info("   - language: {}", language);
-        log.info("   - queueUrl: {}", queueUrl);
+    public CompletableFuture<String> sendJobRequest(String jobId, String userId, String sourceImageUrl, String age,
+            int budget, String language) {
+        log.debug("📤 [SQS Producer] REQUEST | jobId={} | userId={} | age={} | budget={} | language={}",
+                jobId, userId, age, budget, language);
 
         SqsMessage message = SqsMessage.builder()
                 .type(SqsMessage.MessageType.REQUEST)
@@ -49,30 +183,205 @@ public class SqsProducerService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        sendMessage(message);
+        return sendMessage(message);
+    }
+
+    /**
+     * 재시도 요청 메시지 전송 (Backend → AI Server)
+     * - 이미 만들어진 산출물을 함께 보내서 AI 서버가 완료된 단계를 건너뛰게 함
+     */
+    public CompletableFuture<String> sendRetryRequest(GenerateJobEntity job) {
+        log.info("📤 [SQS Producer] 재시도 REQUEST | jobId={} | fromStage={}", job.getId(), job.getRequestedFromStage());
+
+        SqsMessage message = SqsMessage.builder()
+                .type(SqsMessage.MessageType.REQUEST)
+                .jobId(job.getId())
+                .userId(job.getUserId())
+                .sourceImageUrl(job.getSourceImageUrl())
+                .age(job.getAge())
+                .budget(job.getBudget())
+                .language(job.getLanguage())
+                .fromStage(job.getRequestedFromStage() == null ? null : job.getRequestedFromStage().name())
+                .result(AiProcessResult.builder()
+                        .correctedUrl(job.getCorrectedImageUrl())
+                        .modelUrl(job.getGlbUrl())
+                        .initialLdrUrl(job.getInitialLdrUrl())
+                        .build())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return sendMessage(message);
     }
 
     /**
-     * 메시지 전송 (공통)
+     * 작업 취소 메시지 전송 (Backend → AI Server)
+     * - 요청과 같은 큐로 보내므로 AI 서버는 대기 중인 REQUEST를 건너뛰고, 진행 중이면 중단
      */
-    private void sendMessage(SqsMessage message) {
+    public CompletableFuture<String> sendCancelRequest(String jobId) {
+        SqsMessage message = SqsMessage.builder()
+                .type(SqsMessage.MessageType.CANCEL)
+                .jobId(jobId)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return sendMessage(message);
+    }
+
+    /**
+     * 메시지 전송 (공통) - 큐에 넣기만 하고 반환
+     */
+    private CompletableFuture<String> sendMessage(SqsMessage message) {
+        String body;
         try {
-            String messageBody = objectMapper.writeValueAsString(message);
+            body = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SQS 메시지 직렬화 실패", e);
+        }
 
-            SendMessageRequest request = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(messageBody)
-                    .build();
+        Pending pending = new Pending(message, body);
+        if (!running) {
+            failedCounter.increment();
+            log.warn("⚠️ [SQS] Producer 종료 중 - 전송 거절 | type={} | jobId={}", message.getType(), message.getJobId());
+            throw new TaskRejectedException("SQS Producer 종료 중");
+        }
+        if (!queue.offer(pending)) {
+            failedCounter.increment();
+            log.warn("⚠️ [SQS] 전송 큐 가득 참 | type={} | jobId={}", message.getType(), message.getJobId());
+            throw new TaskRejectedException("SQS 전송 대기열 포화 (capacity=" + queueCapacity + ")");
+        }
+        return pending.future;
+    }
 
-            SendMessageResponse response = sqsClient.sendMessage(request);
+    private void sendLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs));
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
 
-            log.info("✅ [SQS] 메시지 전송 완료 | type={} | jobId={} | messageId={}",
-                    message.getType(), message.getJobId(), response.messageId());
+        // 종료 시 남은 메시지 모두 전송 (재시도 없이 1회)
+        while (queue.drainTo(batch, batchSize) > 0) {
+            sendBatch(batch);
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("❌ [SQS] 메시지 전송 실패 | type={} | jobId={} | error={}",
-                    message.getType(), message.getJobId(), e.getMessage(), e);
-            throw new RuntimeException("SQS 메시지 전송 실패", e);
+    /**
+     * batch-size에 도달하거나 linger가 지날 때까지 배치 채우기
+     */
+    private void fillBatch(List<Pending> batch, long deadlineNanos) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * SendMessageBatch 비동기 전송 - 256KB를 넘으면 나눠서 전송
+     */
+    private void sendBatch(List<Pending> batch) {
+        Map<String, Pending> entries = new HashMap<>();
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>();
+        int bytes = 0;
+
+        for (Pending pending : batch) {
+            int size = pending.body.getBytes(StandardCharsets.UTF_8).length;
+            if (!requestEntries.isEmpty() && bytes + size > MAX_BATCH_BYTES) {
+                dispatch(entries, requestEntries);
+                entries = new HashMap<>();
+                requestEntries = new ArrayList<>();
+                bytes = 0;
+            }
+            String id = String.valueOf(requestEntries.size());
+            pending.attempts++;
+            entries.put(id, pending);
+            requestEntries.add(SendMessageBatchRequestEntry.builder()
+                    .id(id)
+                    .messageBody(pending.body)
+                    .build());
+            bytes += size;
+        }
+        dispatch(entries, requestEntries);
+        batch.clear();
+    }
+
+    private void dispatch(Map<String, Pending> entries, List<SendMessageBatchRequestEntry> requestEntries) {
+        batchSummary.record(requestEntries.size());
+        CompletableFuture<SendMessageBatchResponse> call = sqsAsyncClient.sendMessageBatch(
+                SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(requestEntries)
+                        .build());
+        inFlightBatches.add(call);
+        call.whenComplete((response, error) -> {
+            inFlightBatches.remove(call);
+            if (error != null) {
+                // 호출 자체 실패 (네트워크/throttling) → 전체 재시도
+                entries.values().forEach(pending -> retryOrFail(pending, error.getMessage(), true));
+                return;
+            }
+            complete(entries, response);
+        });
+    }
+
+    private void complete(Map<String, Pending> entries, SendMessageBatchResponse response) {
+        for (SendMessageBatchResultEntry ok : response.successful()) {
+            Pending pending = entries.get(ok.id());
+            if (pending != null) {
+                sentCounter.increment();
+                log.info("✅ [SQS] 메시지 전송 완료 | type={} | jobId={} | messageId={}",
+                        pending.message.getType(), pending.message.getJobId(), ok.messageId());
+                pending.future.complete(ok.messageId());
+            }
         }
+        for (BatchResultErrorEntry failed : response.failed()) {
+            Pending pending = entries.get(failed.id());
+            if (pending != null) {
+                retryOrFail(pending, failed.code() + ": " + failed.message(), !Boolean.TRUE.equals(failed.senderFault()));
+            }
+        }
+    }
+
+    private void retryOrFail(Pending pending, String reason, boolean retryable) {
+        if (retryable && running && pending.attempts < maxAttempts) {
+            retriedCounter.increment();
+            long delay = retryBackoffMs * (1L << (pending.attempts - 1));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!running) {
+                    fail(pending, "Producer 종료");
+                } else if (!queue.offer(pending)) {
+                    fail(pending, "전송 대기열 포화");
+                }
+            });
+            return;
+        }
+        fail(pending, reason);
+    }
+
+    private void fail(Pending pending, String reason) {
+        failedCounter.increment();
+        log.error("❌ [SQS] 메시지 전송 실패 | type={} | jobId={} | attempts={} | error={}",
+                pending.message.getType(), pending.message.getJobId(), pending.attempts, reason);
+        pending.future.completeExceptionally(new IllegalStateException("SQS 메시지 전송 실패: " + reason));
     }
 }
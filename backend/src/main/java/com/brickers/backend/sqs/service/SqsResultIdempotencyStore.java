@@ -0,0 +1,160 @@
+package com.brickers.backend.sqs.service;
+
+import com.brickers.backend.sqs.dto.SqsMessage;
+import com.brickers.backend.sqs.entity.ProcessedSqsResult;
+import com.brickers.backend.sqs.repository.ProcessedSqsResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🔁 SqsResultIdempotencyStore
+ *
+ * SQS RESULT 중복 반영 방지.
+ * - 키: jobId + 결과 버전 (메시지 ID가 아니라 "같은 결과"를 기준으로 판단)
+ * - 반영 전에 tryClaim으로 선점 (Mongo unique _id insert) → 동시에 도착한 중복 전달은 하나만 통과
+ * - 반영 성공 시 markProcessed(DONE), 실패 시 release로 선점 해제 → 재수신 때 다시 처리
+ * - 인메모리 LRU + TTL: 이미 DONE인 키의 재전달은 Mongo 조회 없이 걸러냄
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqsResultIdempotencyStore {
+
+    private final ProcessedSqsResultRepository processedRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${aws.sqs.idempotency.local-size:10000}")
+    private int localMaxSize;
+
+    @Value("${aws.sqs.idempotency.local-ttl-seconds:3600}")
+    private long localTtlSeconds;
+
+    /** 이 시간보다 오래된 CLAIMED는 처리하던 인스턴스가 죽은 것으로 보고 인계 */
+    @Value("${aws.sqs.idempotency.claim-timeout-seconds:600}")
+    private long claimTimeoutSeconds;
+
+    /** 처리 완료 key → 기록 시각(ms), access-order LRU */
+    private final LinkedHashMap<String, Long> local = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > localMaxSize;
+        }
+    };
+
+    /**
+     * 멱등 키 생성
+     * - resultVersion이 있으면 우선 사용 (재시도마다 증가)
+     * - 없으면 AI 서버가 찍은 timestamp, 그것도 없으면 messageId
+     */
+    public String keyOf(SqsMessage message, String messageId) {
+        String version;
+        Integer resultVersion = message.getResult() == null ? null : message.getResult().getResultVersion();
+        if (resultVersion != null) {
+            version = "v" + resultVersion;
+        } else if (message.getTimestamp() != null) {
+            version = "t" + message.getTimestamp();
+        } else {
+            version = "m" + messageId;
+        }
+        return message.getJobId() + ":" + version;
+    }
+
+    /**
+     * 처리 선점 - true면 이 전달이 반영 담당, false면 중복 (이미 반영됐거나 다른 전달이 처리 중)
+     * - Mongo 장애 등은 예외 그대로 → 메시지를 ack하지 않고 재수신
+     */
+    public boolean tryClaim(String key, String jobId, String messageId) {
+        if (isLocallyProcessed(key)) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            processedRepository.insert(ProcessedSqsResult.builder()
+                    .id(key)
+                    .jobId(jobId)
+                    .messageId(messageId)
+                    .status(ProcessedSqsResult.Status.CLAIMED)
+                    .claimedAt(now)
+                    .createdAt(now)
+                    .build());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return takeOverStaleClaim(key, messageId, now);
+        }
+    }
+
+    /**
+     * 결과 반영 완료 기록 (반영 성공 후 호출)
+     */
+    public void markProcessed(String key) {
+        remember(key);
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(key)),
+                    new Update().set("status", ProcessedSqsResult.Status.DONE),
+                    ProcessedSqsResult.class);
+        } catch (Exception e) {
+            // CLAIMED로 남아도 claim-timeout 전까지는 중복으로 취급됨 + Job 상태 가드가 2차 방어
+            log.warn("⚠️ [SQS Idempotency] 처리 완료 기록 실패 | key={} | error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 반영 실패 시 선점 해제 (재수신된 메시지가 다시 처리할 수 있도록)
+     */
+    public void release(String key) {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("id").is(key)
+                    .and("status").is(ProcessedSqsResult.Status.CLAIMED)), ProcessedSqsResult.class);
+        } catch (Exception e) {
+            // 해제 실패 → claim-timeout 후 다른 전달이 인계
+            log.warn("⚠️ [SQS Idempotency] 선점 해제 실패 | key={} | error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 오래된 CLAIMED 인계 (CAS: status=CLAIMED && claimedAt < now - timeout)
+     */
+    private boolean takeOverStaleClaim(String key, String messageId, LocalDateTime now) {
+        Query stale = new Query(Criteria.where("id").is(key)
+                .and("status").is(ProcessedSqsResult.Status.CLAIMED)
+                .and("claimedAt").lt(now.minusSeconds(claimTimeoutSeconds)));
+        ProcessedSqsResult taken = mongoTemplate.findAndModify(stale,
+                new Update().set("claimedAt", now).set("messageId", messageId),
+                FindAndModifyOptions.options().returnNew(true),
+                ProcessedSqsResult.class);
+        if (taken != null) {
+            log.warn("⚠️ [SQS Idempotency] 오래된 선점 인계 | key={} | messageId={}", key, messageId);
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized boolean isLocallyProcessed(String key) {
+        Long at = local.get(key);
+        if (at == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - at > localTtlSeconds * 1000L) {
+            local.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void remember(String key) {
+        local.put(key, System.currentTimeMillis());
+    }
+}
@@ -83,6 +83,46 @@ public class LocalStorageService implements StorageService {
         }
     }
 
+    @Override
+    public StoredFile storeStream(String userId, String fileName, InputStream content, String contentType) {
+        LocalDate now = LocalDate.now();
+        String safeUser = (userId == null || userId.isBlank()) ? "guest" : userId;
+
+        Path base = Paths.get(rootDir).toAbsolutePath().normalize();
+        Path dir = base.resolve(Paths.get(
+                safeUser,
+                String.valueOf(now.getYear()),
+                String.format("%02d", now.getMonthValue()))).normalize();
+
+        try {
+            Files.createDirectories(dir);
+
+            String finalFileName = UUID.randomUUID() + "_" + fileName;
+            Path target = dir.resolve(finalFileName).normalize();
+
+            // path traversal 방어
+            if (!target.startsWith(dir)) {
+                throw new IllegalStateException("잘못된 파일 경로");
+            }
+
+            long size = Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+            if (size == 0) {
+                Files.deleteIfExists(target);
+                throw new IllegalArgumentException("파일 내용이 비었습니다.");
+            }
+
+            String url = publicPrefix + "/" + safeUser + "/" + now.getYear() + "/"
+                    + String.format("%02d", now.getMonthValue()) + "/" + finalFileName;
+
+            return new StoredFile(url, fileName, contentType, size);
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public StoredFile storeImage(String userId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -1,18 +1,32 @@
 package com.brickers.backend.upload_s3.service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,7 +47,11 @@ public class S3StorageService implements StorageService {
             "text/plain", "ldr",
             "application/json", "json");
 
+    /** 멀티파트 업로드 part 크기 (S3 최소 5MB) - 스트림 저장 시 힙에는 이 버퍼 하나만 */
+    private static final int MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final String bucket;
     private final String keyPrefix;
     private final String publicBaseUrl;
@@ -58,9 +76,25 @@ public class S3StorageService implements StorageService {
                         AwsBasicCredentials.create(accessKey, secretKey)))
                 .build();
 
+        // 비동기 Client (생성 파이프라인용 - 업로드 동안 스레드를 점유하지 않음)
+        this.s3AsyncClient = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .build();
+
         log.info("✅ S3StorageService initialized: bucket={}, region={}", bucket, region);
     }
 
+    /**
+     * 종료 시 클라이언트 정리 (비동기 Client의 이벤트 루프/커넥션 풀 포함)
+     */
+    @PreDestroy
+    public void destroy() {
+        s3AsyncClient.close();
+        s3Client.close();
+    }
+
     @Override
     public StoredFile storeFile(String userId, String fileName, byte[] content, String contentType) {
         if (content == null || content.length == 0) {
@@ -89,6 +123,111 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    @Override
+    public Mono<StoredFile> storeFileAsync(String userId, String fileName, byte[] content, String contentType) {
+        if (content == null || content.length == 0) {
+            return Mono.error(new IllegalArgumentException("파일 내용이 비었습니다."));
+        }
+
+        String ext = guessExtension(fileName, contentType);
+        String key = buildS3Key(userId, fileName, ext);
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.putObject(request, AsyncRequestBody.fromBytes(content)))
+                .map(response -> {
+                    log.info("✅ S3 업로드 완료(async): key={}, size={}", key, content.length);
+                    return new StoredFile(publicBaseUrl + "/" + key, fileName, contentType, content.length);
+                })
+                .onErrorMap(e -> {
+                    log.error("❌ S3 업로드 실패(async): key={}, error={}", key, e.getMessage());
+                    return new RuntimeException("S3 업로드 실패: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * 스트림 저장 - part 크기만큼 읽어서 멀티파트 업로드 (한 part 이하면 putObject 한 번)
+     */
+    @Override
+    public StoredFile storeStream(String userId, String fileName, InputStream content, String contentType) {
+        String ext = guessExtension(fileName, contentType);
+        String key = buildS3Key(userId, fileName, ext);
+        byte[] buffer = new byte[MULTIPART_PART_SIZE];
+
+        int read;
+        try {
+            read = content.readNBytes(buffer, 0, buffer.length);
+        } catch (IOException e) {
+            throw new RuntimeException("S3 업로드 실패: " + e.getMessage(), e);
+        }
+        if (read == 0) {
+            throw new IllegalArgumentException("파일 내용이 비었습니다.");
+        }
+
+        if (read < buffer.length) {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read));
+            log.info("✅ S3 업로드 완료(stream): key={}, size={}", key, read);
+            return new StoredFile(publicBaseUrl + "/" + key, fileName, contentType, read);
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        List<CompletedPart> parts = new ArrayList<>();
+        long total = 0;
+        try {
+            int partNumber = 1;
+            while (read > 0) {
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) read)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                total += read;
+                partNumber++;
+                read = content.readNBytes(buffer, 0, buffer.length);
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (Exception e) {
+            log.error("❌ S3 멀티파트 업로드 실패: key={}, parts={}, error={}", key, parts.size(), e.getMessage());
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (Exception abortError) {
+                log.warn("⚠️ S3 멀티파트 업로드 취소 실패: key={}, error={}", key, abortError.getMessage());
+            }
+            throw new RuntimeException("S3 업로드 실패: " + e.getMessage(), e);
+        }
+
+        log.info("✅ S3 멀티파트 업로드 완료: key={}, parts={}, size={}", key, parts.size(), total);
+        return new StoredFile(publicBaseUrl + "/" + key, fileName, contentType, total);
+    }
+
     @Override
     public StoredFile storeImage(String userId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
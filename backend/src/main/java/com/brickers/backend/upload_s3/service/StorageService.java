@@ -1,6 +1,12 @@
 package com.brickers.backend.upload_s3.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
 public interface StorageService {
     StoredFile storeImage(String userId, MultipartFile file);
@@ -8,6 +14,21 @@ public interface StorageService {
     // ✅ 바이트 배열 직접 저장 (LDR 등)
     StoredFile storeFile(String userId, String fileName, byte[] content, String contentType);
 
+    // ✅ non-blocking 저장 (기본 구현은 boundedElastic에서 storeFile 실행)
+    default Mono<StoredFile> storeFileAsync(String userId, String fileName, byte[] content, String contentType) {
+        return Mono.fromCallable(() -> storeFile(userId, fileName, content, contentType))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ✅ 스트림 저장 (크기를 모르는 큰 파일 - blocking, 기본 구현은 전부 읽어서 storeFile)
+    default StoredFile storeStream(String userId, String fileName, InputStream content, String contentType) {
+        try {
+            return storeFile(userId, fileName, content.readAllBytes(), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     record StoredFile(
             String url, // "/uploads/.."
             String originalName,
@@ -1,9 +1,10 @@
 package com.brickers.backend.user.service;
 
 import com.brickers.backend.job.entity.GenerateJobEntity;
-import com.brickers.backend.job.entity.JobStage;
 import com.brickers.backend.job.entity.JobStatus;
 import com.brickers.backend.job.repository.GenerateJobRepository;
+import com.brickers.backend.job.service.JobCancellationRegistry;
+import com.brickers.backend.job.service.JobRetryDispatcher;
 import com.brickers.backend.user.dto.MyJobResponse;
 import com.brickers.backend.user.dto.MyJobRetryRequest;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +14,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-
 /**
  * ⚙️ MyJobService
  * 
@@ -27,6 +26,8 @@ public class MyJobService {
 
     private final GenerateJobRepository generateJobRepository;
     private final UserMapper userMapper;
+    private final JobCancellationRegistry jobCancellationRegistry;
+    private final JobRetryDispatcher jobRetryDispatcher;
 
     /**
      * 내 생성 작업 목록을 조회합니다.
@@ -48,25 +49,16 @@ public class MyJobService {
             throw new IllegalStateException("본인의 작업만 재시도할 수 있습니다.");
         }
 
-        if (job.getStatus() == JobStatus.RUNNING) {
-            throw new IllegalStateException("진행 중인 작업은 재시도할 수 없습니다.");
-        }
-
-        JobStage fromStage = (req == null) ? null : req.getFromStage();
-        if (fromStage == null) {
-            fromStage = job.getStage();
+        // DONE 재실행(결과/정산 덮어쓰기) · QUEUED 중복 디스패치 방지 → FAILED / CANCELED만
+        if (!job.canRetry()) {
+            throw new IllegalStateException("재시도할 수 없는 상태입니다 (상태: " + job.getStatus() + ")");
         }
 
-        job.setRequestedFromStage(fromStage);
-        job.setStatus(JobStatus.QUEUED);
-        job.setStage(fromStage);
-        job.setErrorMessage(null);
-
-        LocalDateTime now = LocalDateTime.now();
-        job.setStageUpdatedAt(now);
-        job.setUpdatedAt(now);
+        job.requestRetry(req == null ? null : req.getFromStage());
 
-        return userMapper.toJobResponse(generateJobRepository.save(job));
+        GenerateJobEntity saved = generateJobRepository.save(job);
+        jobRetryDispatcher.dispatch(jobId);
+        return userMapper.toJobResponse(saved);
     }
 
     /**
@@ -86,8 +78,10 @@ public class MyJobService {
         }
 
         job.markCanceled("User requested cancellation");
+        GenerateJobEntity saved = generateJobRepository.save(job);
+        jobCancellationRegistry.cancel(jobId);
         log.info("[MyJobService] Job CANCELED | jobId={} | userId={}", jobId, userId);
 
-        return userMapper.toJobResponse(generateJobRepository.save(job));
+        return userMapper.toJobResponse(saved);
     }
 }
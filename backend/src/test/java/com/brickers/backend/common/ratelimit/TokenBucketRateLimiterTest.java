@@ -0,0 +1,101 @@
+package com.brickers.backend.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter();
+
+    @Test
+    void tryConsume_allowsBurstUpToCapacityThenReturnsWait() {
+        RateLimitProperties.Bucket spec = spec(3, 1);
+
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+
+        // 분당 1개 충전 → 다음 토큰까지 1분 가까이
+        assertThat(limiter.tryConsume("k", spec))
+                .isPositive()
+                .isLessThanOrEqualTo(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    void tryConsume_keysAreIndependent() {
+        RateLimitProperties.Bucket spec = spec(1, 1);
+
+        assertThat(limiter.tryConsume("a", spec)).isZero();
+        assertThat(limiter.tryConsume("a", spec)).isPositive();
+        assertThat(limiter.tryConsume("b", spec)).isZero();
+    }
+
+    @Test
+    void tryConsume_refillsWithElapsedTime() throws Exception {
+        RateLimitProperties.Bucket spec = spec(1, 60_000); // 1ms에 1개
+
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+        Thread.sleep(20);
+
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+    }
+
+    @Test
+    void tryConsume_withoutRefillWaitsOneMinute() {
+        RateLimitProperties.Bucket spec = spec(1, 0);
+
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+        assertThat(limiter.tryConsume("k", spec)).isEqualTo(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    void tryConsume_concurrentCallersNeverExceedCapacity() throws Exception {
+        RateLimitProperties.Bucket spec = spec(50, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 200; i++) {
+                pool.submit(() -> {
+                    start.await();
+                    if (limiter.tryConsume("k", spec) == 0L) {
+                        allowed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(allowed.get()).isEqualTo(50);
+    }
+
+    @Test
+    void evictIdleBuckets_keepsRecentlyUsedBuckets() {
+        RateLimitProperties.Bucket spec = spec(1, 0);
+        assertThat(limiter.tryConsume("k", spec)).isZero();
+
+        limiter.evictIdleBuckets();
+
+        // 버킷이 남아 있으므로 여전히 소진 상태
+        assertThat(limiter.tryConsume("k", spec)).isPositive();
+    }
+
+    private RateLimitProperties.Bucket spec(int capacity, double refillPerMinute) {
+        RateLimitProperties.Bucket spec = new RateLimitProperties.Bucket();
+        spec.setCapacity(capacity);
+        spec.setRefillPerMinute(refillPerMinute);
+        return spec;
+    }
+}
@@ -0,0 +1,50 @@
+package com.brickers.backend.gallery.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GalleryCursorTest {
+
+    @Test
+    void encode_roundTripsSortValuesAndId() {
+        GalleryCursor cursor = new GalleryCursor("popular", List.of("12", "340", "2026-01-02T03:04:05"), "665f1c2e9b1e8a0012345678");
+
+        assertThat(GalleryCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_roundTripsNullValue() {
+        GalleryCursor cursor = new GalleryCursor("latest", Arrays.asList((String) null), "id1");
+
+        GalleryCursor decoded = GalleryCursor.decode(cursor.encode());
+
+        assertThat(decoded.values()).containsExactly((String) null);
+        assertThat(decoded.id()).isEqualTo("id1");
+    }
+
+    @Test
+    void encode_isUrlSafeWithoutPadding() {
+        String token = new GalleryCursor("views", List.of("99999999", "2026-12-31T23:59:59.999"), "공룡?>>").encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void decode_rejectsMalformedTokens() {
+        assertThatThrownBy(() -> GalleryCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GalleryCursor.decode(urlEncode("latest\nid1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String urlEncode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
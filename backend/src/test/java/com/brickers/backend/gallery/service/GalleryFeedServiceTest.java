@@ -0,0 +1,168 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.dto.GalleryCursor;
+import com.brickers.backend.gallery.dto.GalleryFeedResponse;
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.job.entity.KidsLevel;
+import com.brickers.backend.user.service.CurrentUserService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GalleryFeedServiceTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    private MongoTemplate mongoTemplate;
+    private GalleryFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new GalleryFeedService(mongoTemplate, mock(CurrentUserService.class), new GalleryHelper(),
+                mock(GalleryMapper.class));
+    }
+
+    @Test
+    void feed_firstPageHasNoKeysetPredicate() {
+        service.feed("latest", null, null, null, 20, false, null);
+
+        Query query = capturedQuery();
+        assertThat(query.getQueryObject()).doesNotContainKey("$and");
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", -1).append("id", -1));
+        assertThat(query.getLimit()).isEqualTo(21);
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("search", 0));
+        verify(mongoTemplate, never()).count(any(Query.class), eq(GalleryPostEntity.class));
+    }
+
+    @Test
+    void feed_latestCursorBranchesOnCreatedAtThenId() {
+        String cursor = new GalleryCursor("latest", List.of(AT.toString()), "id9").encode();
+
+        service.feed("latest", null, null, cursor, 20, false, null);
+
+        assertThat(branches(capturedQuery())).containsExactly(
+                and(lt("createdAt", AT)),
+                and(new Document("createdAt", AT), lt("id", "id9")));
+    }
+
+    @Test
+    void feed_popularCursorBranchesOnEveryKeyPrefix() {
+        String cursor = new GalleryCursor("popular", List.of("5", "10", AT.toString()), "id9").encode();
+
+        service.feed("popular", null, null, cursor, 20, false, null);
+
+        assertThat(branches(capturedQuery())).containsExactly(
+                and(lt("likeCount", 5L)),
+                and(new Document("likeCount", 5L), lt("viewCount", 10L)),
+                and(new Document("likeCount", 5L), new Document("viewCount", 10L), lt("createdAt", AT)),
+                and(new Document("likeCount", 5L), new Document("viewCount", 10L), new Document("createdAt", AT),
+                        lt("id", "id9")));
+    }
+
+    @Test
+    void feed_nullCursorValueSkipsLessThanBranch() {
+        String cursor = new GalleryCursor("likes", Arrays.asList("3", null), "id9").encode();
+
+        service.feed("likes", null, null, cursor, 20, false, null);
+
+        // null은 DESC 정렬의 맨 끝 → createdAt < null 분기 없음
+        assertThat(branches(capturedQuery())).containsExactly(
+                and(lt("likeCount", 3L)),
+                and(new Document("likeCount", 3L), new Document("createdAt", null), lt("id", "id9")));
+    }
+
+    @Test
+    void feedQuery_matchesQueryIssuedByFeed() {
+        GalleryCursor cursor = new GalleryCursor("views", List.of("7", AT.toString()), "id9");
+
+        service.feed("views", "1", "공룡", cursor.encode(), 20, false, null);
+
+        Query issued = capturedQuery();
+        Query built = service.feedQuery("views", KidsLevel.LEVEL_1, "공룡", cursor, 21);
+        assertThat(built.getQueryObject()).isEqualTo(issued.getQueryObject());
+        assertThat(built.getSortObject()).isEqualTo(issued.getSortObject());
+        assertThat(built.getLimit()).isEqualTo(issued.getLimit());
+    }
+
+    @Test
+    void feed_rejectsCursorFromOtherSort() {
+        String cursor = new GalleryCursor("views", List.of("1", AT.toString()), "id9").encode();
+
+        assertThatThrownBy(() -> service.feed("latest", null, null, cursor, 20, false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void feed_rejectsCursorWithUnparsableValue() {
+        String cursor = new GalleryCursor("views", List.of("many", AT.toString()), "id9").encode();
+
+        assertThatThrownBy(() -> service.feed("views", null, null, cursor, 20, false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void feed_extraRowBecomesNextCursorOfLastReturnedPost() {
+        List<GalleryPostEntity> posts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            posts.add(GalleryPostEntity.builder().id("id" + i).likeCount(10 - i).createdAt(AT.minusMinutes(i)).build());
+        }
+        when(mongoTemplate.find(any(Query.class), eq(GalleryPostEntity.class))).thenReturn(posts);
+
+        GalleryFeedResponse response = service.feed("likes", null, null, null, 2, false, null);
+
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(GalleryCursor.decode(response.getNextCursor()))
+                .isEqualTo(new GalleryCursor("likes", List.of("9", AT.minusMinutes(1).toString()), "id1"));
+    }
+
+    @Test
+    void feed_lastPageHasNoNextCursor() {
+        when(mongoTemplate.find(any(Query.class), eq(GalleryPostEntity.class)))
+                .thenReturn(List.of(GalleryPostEntity.builder().id("id0").createdAt(AT).build()));
+
+        GalleryFeedResponse response = service.feed("latest", null, null, null, 2, true, null);
+
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+        verify(mongoTemplate).count(any(Query.class), eq(GalleryPostEntity.class));
+    }
+
+    private Query capturedQuery() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(GalleryPostEntity.class));
+        return captor.getValue();
+    }
+
+    /** { $and: [ publicFilter, { $or: [...] } ] } 에서 $or 분기만 */
+    private List<Document> branches(Query query) {
+        List<Document> and = query.getQueryObject().getList("$and", Document.class);
+        assertThat(and).hasSize(2);
+        return and.get(1).getList("$or", Document.class);
+    }
+
+    private Document and(Document... terms) {
+        return new Document("$and", List.of(terms));
+    }
+
+    private Document lt(String field, Object value) {
+        return new Document(field, new Document("$lt", value));
+    }
+}
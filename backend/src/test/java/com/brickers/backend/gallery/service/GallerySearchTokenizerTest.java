@@ -0,0 +1,103 @@
+package com.brickers.backend.gallery.service;
+
+import com.brickers.backend.gallery.entity.GalleryPostEntity;
+import com.brickers.backend.gallery.entity.GallerySearchFields;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GallerySearchTokenizerTest {
+
+    private final GallerySearchTokenizer tokenizer = new GallerySearchTokenizer();
+
+    @Test
+    void tokenize_cjkWordsBecomeBigrams() {
+        assertThat(tokenizer.tokenize("공룡이")).containsExactly("공룡", "룡이");
+        assertThat(tokenizer.tokenize("恐竜です")).containsExactly("恐竜", "竜で", "です");
+    }
+
+    @Test
+    void indexTokens_addCjkUnigramsSoSingleSyllableQueriesMatch() {
+        List<String> indexed = tokenizer.indexTokens("기차를 타요");
+
+        assertThat(indexed).containsExactly("기차", "차를", "기", "차", "를", "타요", "타", "요");
+        assertThat(tokenizer.queryTokens("차")).containsExactly("차");
+        assertThat(indexed).containsAll(tokenizer.queryTokens("차"));
+        assertThat(indexed).containsAll(tokenizer.queryTokens("기차를"));
+    }
+
+    @Test
+    void indexTokens_latinAndSingleCharWordsHaveNoExtraUnigrams() {
+        assertThat(tokenizer.indexTokens("lego 차 T렉스")).containsExactly("lego", "차", "t렉", "렉스", "렉", "스");
+    }
+
+    @Test
+    void tokenize_shortCjkAndLatinWordsKeptWhole() {
+        assertThat(tokenizer.tokenize("공룡 lego 42")).containsExactly("공룡", "lego", "42");
+    }
+
+    @Test
+    void tokenize_mixedScriptWordIsBigrammed() {
+        assertThat(tokenizer.tokenize("T렉스")).containsExactly("t렉", "렉스");
+    }
+
+    @Test
+    void tokenize_appliesNfkcAndLowercase() {
+        assertThat(tokenizer.tokenize("ＬＥＧＯ１２ Brick")).containsExactly("lego12", "brick");
+    }
+
+    @Test
+    void tokenize_blankOrNullIsEmpty() {
+        assertThat(tokenizer.tokenize(null)).isEmpty();
+        assertThat(tokenizer.tokenize("  ")).isEmpty();
+        assertThat(tokenizer.tokenize("!!! ---")).isEmpty();
+    }
+
+    @Test
+    void queryTokens_stripsTextSearchOperators() {
+        assertThat(tokenizer.queryTokens("\"빨간 공룡\" -로봇 +lego*"))
+                .containsExactly("빨간", "공룡", "로봇", "lego");
+    }
+
+    @Test
+    void queryTokens_dedupesInOrder() {
+        assertThat(tokenizer.queryTokens("Lego 공룡 LEGO 공룡")).containsExactly("lego", "공룡");
+    }
+
+    @Test
+    void queryTokens_capsTokenCount() {
+        assertThat(tokenizer.queryTokens("a b c d e f g h i j"))
+                .containsExactly("a", "b", "c", "d", "e", "f", "g", "h");
+    }
+
+    @Test
+    void fieldsOf_tokenizesEachFieldAndTruncatesContent() {
+        String content = "x".repeat(1995) + " hello world";
+        GalleryPostEntity post = GalleryPostEntity.builder()
+                .title("초록 공룡이")
+                .content(content)
+                .tags(List.of("Dino", "공룡"))
+                .authorNickname("BrickKid")
+                .build();
+
+        GallerySearchFields fields = tokenizer.fieldsOf(post);
+
+        assertThat(fields.getTitle()).isEqualTo("초록 초 록 공룡 룡이 공 룡 이");
+        assertThat(fields.getContent()).isEqualTo("x".repeat(1995) + " hell");
+        assertThat(fields.getTags()).isEqualTo("dino 공룡 공 룡");
+        assertThat(fields.getAuthor()).isEqualTo("brickkid");
+        assertThat(fields.getVersion()).isEqualTo(GallerySearchTokenizer.VERSION);
+    }
+
+    @Test
+    void fieldsOf_nullFieldsBecomeEmpty() {
+        GallerySearchFields fields = tokenizer.fieldsOf(GalleryPostEntity.builder().build());
+
+        assertThat(fields.getTitle()).isEmpty();
+        assertThat(fields.getContent()).isEmpty();
+        assertThat(fields.getTags()).isEmpty();
+        assertThat(fields.getAuthor()).isEmpty();
+    }
+}
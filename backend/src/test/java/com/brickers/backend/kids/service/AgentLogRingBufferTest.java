@@ -0,0 +1,141 @@
+package com.brickers.backend.kids.service;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentLogRingBufferTest {
+
+    @Test
+    void since_nullReturnsWholeBufferInArrivalOrder() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(4);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 3);
+
+        assertThat(buffer.since(null)).containsExactlyElementsOf(added);
+    }
+
+    @Test
+    void since_knownIdReturnsEntriesAfterIt() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(4);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 3);
+
+        assertThat(buffer.since(added.get(0).id())).containsExactly(added.get(1), added.get(2));
+        assertThat(buffer.since(added.get(2).id())).isEmpty();
+    }
+
+    @Test
+    void since_knownIdUsesArrivalOrderEvenWhenIdsAreOutOfOrder() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(4);
+        ObjectId later = new ObjectId();
+        ObjectId earlier = new ObjectId(new Date(later.getDate().getTime() - 60_000L));
+        AgentLogRingBuffer.Entry first = new AgentLogRingBuffer.Entry(later, "A", "first");
+        AgentLogRingBuffer.Entry second = new AgentLogRingBuffer.Entry(earlier, "B", "second");
+        buffer.add(first);
+        buffer.add(second);
+
+        assertThat(buffer.since(later)).containsExactly(second);
+    }
+
+    @Test
+    void since_overwrittenOrForeignIdFallsBackToIdOrder() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(2);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 4);
+
+        // 0번은 덮어써짐 → id가 더 큰 로그만
+        assertThat(buffer.since(added.get(0).id())).containsExactly(added.get(2), added.get(3));
+        assertThat(buffer.since(added.get(1).id())).containsExactly(added.get(2), added.get(3));
+    }
+
+    @Test
+    void add_overwritesOldestBeyondCapacity() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(3);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 5);
+
+        assertThat(buffer.since(null)).containsExactlyElementsOf(added.subList(2, 5));
+    }
+
+    @Test
+    void add_doesNotWaitForStalledEarlierWriter() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(2);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 2);
+        AgentLogRingBuffer.Entry later = new AgentLogRingBuffer.Entry(new ObjectId(), "STEP", "later");
+
+        stallWriter(buffer); // 순번 2를 예약만 하고 아직 쓰지 않은 writer
+        buffer.add(later);   // 순번 3 → 기다리지 않고 바로 반환
+
+        // 순번 2 자리(슬롯 0)에는 아직 순번 0 로그 → 잘못된 위치로 재생하지 않음
+        assertThat(buffer.since(null)).containsExactly(later);
+        assertThat(buffer.since(added.get(0).id())).containsExactly(later);
+    }
+
+    @Test
+    void since_skipsReservedSlotUntilWriterFinishes() {
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(4);
+        List<AgentLogRingBuffer.Entry> added = addEntries(buffer, 2);
+
+        stallWriter(buffer);
+
+        assertThat(buffer.since(null)).containsExactlyElementsOf(added);
+    }
+
+    @Test
+    void add_concurrentWritersAreAllVisibleAfterReturn() throws Exception {
+        int writers = 8;
+        int perWriter = 500;
+        AgentLogRingBuffer buffer = new AgentLogRingBuffer(writers * perWriter);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int w = 0; w < writers; w++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        buffer.add(new AgentLogRingBuffer.Entry(new ObjectId(), "STEP", "m" + i));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<AgentLogRingBuffer.Entry> entries = buffer.since(null);
+        assertThat(entries).hasSize(writers * perWriter).doesNotContainNull();
+        assertThat(entries.stream().map(AgentLogRingBuffer.Entry::id).distinct().count())
+                .isEqualTo(writers * perWriter);
+    }
+
+    @Test
+    void entry_formatsStepAndMessage() {
+        assertThat(new AgentLogRingBuffer.Entry(new ObjectId(), "MODEL", "done").format())
+                .isEqualTo("[MODEL] done");
+    }
+
+    private void stallWriter(AgentLogRingBuffer buffer) {
+        ((AtomicLong) ReflectionTestUtils.getField(buffer, "reserved")).getAndIncrement();
+    }
+
+    private List<AgentLogRingBuffer.Entry> addEntries(AgentLogRingBuffer buffer, int count) {
+        List<AgentLogRingBuffer.Entry> added = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AgentLogRingBuffer.Entry entry = new AgentLogRingBuffer.Entry(new ObjectId(), "STEP", "log " + i);
+            buffer.add(entry);
+            added.add(entry);
+        }
+        return added;
+    }
+}
@@ -0,0 +1,158 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.kids.dto.AiProcessResult;
+import com.brickers.backend.upload_s3.service.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiResultStreamReaderTest {
+
+    private static final String LDR = "0 FILE model.ldr\n1 4 0 0 0 1 0 0 0 1 0 0 0 1 3001.dat\n";
+    private static final String STORED_URL = "/uploads/u1/result.ldr";
+
+    private final List<byte[]> uploads = new ArrayList<>();
+    private StorageService storageService;
+    private AiResultStreamReader reader;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        when(storageService.storeStream(anyString(), anyString(), any(InputStream.class), anyString()))
+                .thenAnswer(invocation -> {
+                    byte[] bytes = invocation.getArgument(2, InputStream.class).readAllBytes();
+                    uploads.add(bytes);
+                    return new StorageService.StoredFile(STORED_URL, "result.ldr", "text/plain", bytes.length);
+                });
+        reader = new AiResultStreamReader(storageService, Schedulers.immediate());
+    }
+
+    @Test
+    void read_ldrDataFirstField() {
+        AiProcessResult result = read("{\"ldrData\":\"" + dataUrl(LDR) + "\",\"success\":true,\"parts\":12}");
+
+        assertThat(result.getLdrUrl()).isEqualTo(STORED_URL);
+        assertThat(result.getSuccess()).isTrue();
+        assertThat(result.getParts()).isEqualTo(12);
+        assertThat(uploadedText()).isEqualTo(LDR);
+    }
+
+    @Test
+    void read_ldrDataInMiddleKeepsFieldsOnBothSides() {
+        AiProcessResult result = read("{\"success\":true, \"ldrData\" : \"" + dataUrl(LDR) + "\" ,\n"
+                + "\"glbUrl\":\"https://cdn/model.glb\",\"tags\":[\"공룡\",\"초록\"],\"screenshots\":{\"front\":\"f.png\"}}");
+
+        assertThat(result.getLdrUrl()).isEqualTo(STORED_URL);
+        assertThat(result.getSuccess()).isTrue();
+        assertThat(result.getModelUrl()).isEqualTo("https://cdn/model.glb");
+        assertThat(result.getSuggestedTags()).containsExactly("공룡", "초록");
+        assertThat(result.getScreenshots()).containsEntry("front", "f.png");
+        assertThat(uploadedText()).isEqualTo(LDR);
+    }
+
+    @Test
+    void read_ldrDataLastField() {
+        AiProcessResult result = read("{\"success\":true,\"parts\":3,\"ldrData\":\"" + dataUrl(LDR) + "\"}");
+
+        assertThat(result.getLdrUrl()).isEqualTo(STORED_URL);
+        assertThat(result.getParts()).isEqualTo(3);
+        assertThat(uploadedText()).isEqualTo(LDR);
+    }
+
+    @Test
+    void read_smallChunksAcrossFieldBoundaries() {
+        String json = "{\"subject\":\"dino\",\"ldrData\":\"" + dataUrl(LDR) + "\",\"parts\":7}";
+
+        AiProcessResult result = reader.read(chunks(json.getBytes(StandardCharsets.UTF_8), 5), "u1").block();
+
+        assertThat(result.getSubject()).isEqualTo("dino");
+        assertThat(result.getParts()).isEqualTo(7);
+        assertThat(result.getLdrUrl()).isEqualTo(STORED_URL);
+        assertThat(uploadedText()).isEqualTo(LDR);
+    }
+
+    @Test
+    void read_escapedSlashInBase64IsDecoded() {
+        String base64 = Base64.getEncoder().encodeToString("???".getBytes(StandardCharsets.US_ASCII));
+        assertThat(base64).contains("/");
+
+        AiProcessResult result = read("{\"ldrData\":\"data:text/plain;base64,"
+                + base64.replace("/", "\\/") + "\",\"success\":true}");
+
+        assertThat(result.getLdrUrl()).isEqualTo(STORED_URL);
+        assertThat(result.getSuccess()).isTrue();
+        assertThat(uploadedText()).isEqualTo("???");
+    }
+
+    @Test
+    void read_nonDataUrlKeepsExistingLdrUrlAndSkipsUpload() {
+        AiProcessResult result = read("{\"ldrUrl\":\"https://cdn/result.ldr\",\"ldrData\":\"not-a-data-url\",\"parts\":5}");
+
+        assertThat(result.getLdrUrl()).isEqualTo("https://cdn/result.ldr");
+        assertThat(result.getParts()).isEqualTo(5);
+        verify(storageService, never()).storeStream(anyString(), anyString(), any(InputStream.class), anyString());
+    }
+
+    @Test
+    void read_uploadFailureStillParsesRemainingFields() {
+        doThrow(new IllegalStateException("s3 down"))
+                .when(storageService).storeStream(anyString(), anyString(), any(InputStream.class), anyString());
+
+        AiProcessResult result = read("{\"ldrData\":\"" + dataUrl(LDR) + "\",\"success\":true,\"parts\":9}");
+
+        assertThat(result.getLdrUrl()).isNull();
+        assertThat(result.getSuccess()).isTrue();
+        assertThat(result.getParts()).isEqualTo(9);
+    }
+
+    @Test
+    void read_withoutLdrDataBindsPlainResult() {
+        AiProcessResult result = read("{\"success\":false,\"errorMessage\":\"timeout\",\"unknown\":{\"a\":[1,2]}}");
+
+        assertThat(result.getSuccess()).isFalse();
+        assertThat(result.getErrorMessage()).isEqualTo("timeout");
+        assertThat(result.getLdrUrl()).isNull();
+        assertThat(uploads).isEmpty();
+    }
+
+    private AiProcessResult read(String json) {
+        return reader.read(chunks(json.getBytes(StandardCharsets.UTF_8), 4096), "u1").block();
+    }
+
+    private Flux<DataBuffer> chunks(byte[] bytes, int size) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + size))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private String dataUrl(String text) {
+        return "data:text/plain;base64," + Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String uploadedText() {
+        assertThat(uploads).hasSize(1);
+        return new String(uploads.get(0), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,245 @@
+package com.brickers.backend.kids.service;
+
+import com.brickers.backend.job.entity.JobEvent;
+import com.brickers.backend.job.entity.JobStatus;
+import com.brickers.backend.job.event.JobEventBus;
+import com.brickers.backend.kids.dto.QueuePositionResponse;
+import com.brickers.backend.user.entity.MembershipPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class GenerationSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<String> dispatched = new LinkedBlockingQueue<>();
+    private GenerationScheduler scheduler;
+    private Consumer<JobEvent> eventListener;
+
+    @BeforeEach
+    void setUp() {
+        JobEventBus jobEventBus = mock(JobEventBus.class);
+        scheduler = new GenerationScheduler(jobEventBus, mock(MongoTemplate.class), meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "maxActive", 1);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 100);
+        ReflectionTestUtils.setField(scheduler, "perUserMaxQueued", 5);
+        ReflectionTestUtils.setField(scheduler, "proWeight", 4);
+        ReflectionTestUtils.setField(scheduler, "freeWeight", 1);
+        ReflectionTestUtils.setField(scheduler, "proUserMaxActive", 3);
+        ReflectionTestUtils.setField(scheduler, "freeUserMaxActive", 1);
+        ReflectionTestUtils.setField(scheduler, "defaultServiceSeconds", 180L);
+        ReflectionTestUtils.setField(scheduler, "activeTimeoutSeconds", 1800L);
+        ReflectionTestUtils.setField(scheduler, "rejectedRetryMillis", 60_000L);
+        scheduler.init();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<JobEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(jobEventBus).subscribe(captor.capture());
+        eventListener = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void pump_interleavesPlansByWeight() throws Exception {
+        scheduler.enqueue(ticket("blocker", "b0", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("blocker");
+
+        for (int i = 1; i <= 5; i++) {
+            scheduler.enqueue(ticket("pro" + i, "p" + i, MembershipPlan.PRO));
+            scheduler.enqueue(ticket("free" + i, "f" + i, MembershipPlan.FREE));
+        }
+
+        List<String> order = new ArrayList<>();
+        String previous = "blocker";
+        for (int i = 0; i < 5; i++) {
+            finish(previous);
+            previous = nextDispatched();
+            order.add(previous);
+        }
+
+        // smooth weighted round robin (4:1)
+        assertThat(order).containsExactly("pro1", "pro2", "free1", "pro3", "pro4");
+    }
+
+    @Test
+    void pump_roundRobinsUsersWithinPlan() throws Exception {
+        scheduler.enqueue(ticket("blocker", "b0", MembershipPlan.PRO));
+        assertThat(nextDispatched()).isEqualTo("blocker");
+
+        scheduler.enqueue(ticket("a1", "alice", MembershipPlan.PRO));
+        scheduler.enqueue(ticket("a2", "alice", MembershipPlan.PRO));
+        scheduler.enqueue(ticket("b1", "bob", MembershipPlan.PRO));
+
+        finish("blocker");
+        assertThat(nextDispatched()).isEqualTo("a1");
+        finish("a1");
+        assertThat(nextDispatched()).isEqualTo("b1");
+        finish("b1");
+        assertThat(nextDispatched()).isEqualTo("a2");
+    }
+
+    @Test
+    void pump_respectsPerUserActiveCap() throws Exception {
+        ReflectionTestUtils.setField(scheduler, "maxActive", 10);
+
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        scheduler.enqueue(ticket("j2", "u1", MembershipPlan.FREE));
+        scheduler.enqueue(ticket("j3", "u2", MembershipPlan.FREE));
+
+        assertThat(List.of(nextDispatched(), nextDispatched())).containsExactlyInAnyOrder("j1", "j3");
+        assertThat(dispatched.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        finish("j1");
+        assertThat(nextDispatched()).isEqualTo("j2");
+    }
+
+    @Test
+    void enqueue_sameJobTwiceIsQueuedOnce() throws Exception {
+        scheduler.enqueue(ticket("blocker", "b0", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("blocker");
+
+        QueuePositionResponse first = scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        QueuePositionResponse second = scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+
+        assertThat(second.position()).isEqualTo(first.position());
+        assertThat(gauge("generation.scheduler.queued", "FREE")).isEqualTo(1.0);
+    }
+
+    @Test
+    void enqueue_jobHoldingSlotReleasesItBeforeRequeue() throws Exception {
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("j1");
+
+        // outbox 재시도 - 같은 jobId 재진입 시 유저 카운트가 두 번 잡히지 않아야 함
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("j1");
+        assertThat(gauge("generation.scheduler.active", null)).isEqualTo(1.0);
+
+        ReflectionTestUtils.setField(scheduler, "maxActive", 10);
+        scheduler.enqueue(ticket("j2", "u1", MembershipPlan.FREE));
+        assertThat(dispatched.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        finish("j1");
+        assertThat(nextDispatched()).isEqualTo("j2");
+    }
+
+    @Test
+    void abandon_releasesSlotForNextTicket() throws Exception {
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("j1");
+        scheduler.enqueue(ticket("j2", "u2", MembershipPlan.FREE));
+        assertThat(dispatched.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        scheduler.abandon("j1");
+
+        assertThat(nextDispatched()).isEqualTo("j2");
+        assertThat(gauge("generation.scheduler.active", null)).isEqualTo(1.0);
+    }
+
+    @Test
+    void terminalEvent_removesQueuedTicket() throws Exception {
+        scheduler.enqueue(ticket("blocker", "b0", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("blocker");
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+
+        finish("j1");
+
+        assertThat(scheduler.positionOf("j1").queued()).isFalse();
+        assertThat(gauge("generation.scheduler.queued", "FREE")).isZero();
+    }
+
+    @Test
+    void enqueue_rejectsBeyondLimits() {
+        ReflectionTestUtils.setField(scheduler, "maxActive", 0);
+        ReflectionTestUtils.setField(scheduler, "perUserMaxQueued", 2);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 3);
+
+        scheduler.enqueue(ticket("j1", "u1", MembershipPlan.FREE));
+        scheduler.enqueue(ticket("j2", "u1", MembershipPlan.FREE));
+        assertThatThrownBy(() -> scheduler.enqueue(ticket("j3", "u1", MembershipPlan.FREE)))
+                .isInstanceOf(TaskRejectedException.class);
+
+        scheduler.enqueue(ticket("j4", "u2", MembershipPlan.FREE));
+        assertThatThrownBy(() -> scheduler.enqueue(ticket("j5", "u3", MembershipPlan.FREE)))
+                .isInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    void pump_rejectedDispatchGoesBackToFrontOfQueue() throws Exception {
+        boolean[] reject = {true};
+        scheduler.enqueue(new GenerationScheduler.Ticket("j1", "u1", MembershipPlan.FREE, () -> {
+            if (reject[0]) {
+                reject[0] = false;
+                throw new TaskRejectedException("full");
+            }
+            dispatched.add("j1");
+        }));
+        assertThat(dispatched.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(scheduler.positionOf("j1").queued()).isTrue();
+
+        // 다음 슬롯 반환(pump) 때 재시도
+        scheduler.enqueue(ticket("j2", "u2", MembershipPlan.FREE));
+        assertThat(nextDispatched()).isEqualTo("j1");
+    }
+
+    @Test
+    void pump_rejectedDispatchIsRetriedWithoutOtherActivity() throws Exception {
+        ReflectionTestUtils.setField(scheduler, "rejectedRetryMillis", 50L);
+        boolean[] reject = {true};
+        scheduler.enqueue(new GenerationScheduler.Ticket("j1", "u1", MembershipPlan.FREE, () -> {
+            if (reject[0]) {
+                reject[0] = false;
+                throw new TaskRejectedException("full");
+            }
+            dispatched.add("j1");
+        }));
+
+        // 진행 슬롯이 없어 반환 이벤트가 없어도 지연 pump로 재전송
+        assertThat(nextDispatched()).isEqualTo("j1");
+    }
+
+    private GenerationScheduler.Ticket ticket(String jobId, String userKey, MembershipPlan plan) {
+        return new GenerationScheduler.Ticket(jobId, userKey, plan, () -> dispatched.add(jobId));
+    }
+
+    private String nextDispatched() throws InterruptedException {
+        String jobId = dispatched.poll(2, TimeUnit.SECONDS);
+        assertThat(jobId).as("dispatched job").isNotNull();
+        return jobId;
+    }
+
+    private void finish(String jobId) {
+        eventListener.accept(JobEvent.builder()
+                .jobId(jobId)
+                .type(JobEvent.Type.JOB_STATUS)
+                .status(JobStatus.DONE)
+                .build());
+    }
+
+    private double gauge(String name, String plan) {
+        return plan == null
+                ? meterRegistry.get(name).gauge().value()
+                : meterRegistry.get(name).tag("plan", plan).gauge().value();
+    }
+}
@@ -0,0 +1,121 @@
+package com.brickers.backend.kids.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SseFanoutTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void publish_sendsEachEventToSubscriber() throws Exception {
+        SseFanout fanout = fanout(Runnable::run, 8, 16);
+        SseEmitter emitter = mock(SseEmitter.class);
+        fanout.register("job1", emitter, List::of);
+
+        fanout.publish("job1", event("1"));
+        fanout.publish("job1", event("2"));
+        fanout.publish("other", event("3"));
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void register_dropsLiveEventAlreadySentInBacklog() throws Exception {
+        SseFanout fanout = fanout(Runnable::run, 8, 16);
+        SseEmitter emitter = mock(SseEmitter.class);
+        fanout.register("job1", emitter, () -> List.of(event("1"), event("2")));
+
+        fanout.publish("job1", event("2"));
+        fanout.publish("job1", event("3"));
+
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void publish_eventsWithoutIdAreNeverDeduplicated() throws Exception {
+        SseFanout fanout = fanout(Runnable::run, 8, 16);
+        SseEmitter emitter = mock(SseEmitter.class);
+        fanout.register("job1", emitter, List::of);
+
+        fanout.sendHeartbeats();
+        fanout.sendHeartbeats();
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void publish_dedupeWindowForgetsOldestIds() throws Exception {
+        SseFanout fanout = fanout(Runnable::run, 8, 2);
+        SseEmitter emitter = mock(SseEmitter.class);
+        fanout.register("job1", emitter, List::of);
+
+        fanout.publish("job1", event("1"));
+        fanout.publish("job1", event("2"));
+        fanout.publish("job1", event("3")); // "1"이 창에서 밀려남
+        fanout.publish("job1", event("1"));
+        fanout.publish("job1", event("3"));
+
+        verify(emitter, times(4)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void publish_overflowingSubscriberIsDisconnected() throws Exception {
+        List<Runnable> pending = new ArrayList<>();
+        SseFanout fanout = fanout(pending::add, 2, 16); // drain이 실행되지 않는 느린 구독자
+        SseEmitter slow = mock(SseEmitter.class);
+        fanout.register("job1", slow, List::of);
+
+        fanout.publish("job1", event("1"));
+        fanout.publish("job1", event("2"));
+        fanout.publish("job1", event("3"));
+
+        verify(slow).complete();
+        assertThat(meterRegistry.counter("sse.events.dropped").count()).isEqualTo(1.0);
+
+        // 끊긴 뒤에는 큐잉/전송 없음
+        fanout.publish("job1", event("4"));
+        pending.forEach(Runnable::run);
+        verify(slow, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void complete_closesAfterQueuedEvents() throws Exception {
+        List<Runnable> pending = new ArrayList<>();
+        SseFanout fanout = fanout(pending::add, 8, 16);
+        SseEmitter emitter = mock(SseEmitter.class);
+        fanout.register("job1", emitter, List::of);
+
+        fanout.publish("job1", event("1"));
+        fanout.complete("job1");
+        fanout.publish("job1", event("2"));
+        pending.forEach(Runnable::run);
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+
+    private SseFanout fanout(Executor executor, int queueSize, int dedupeWindow) {
+        SseFanout fanout = new SseFanout(executor, meterRegistry);
+        ReflectionTestUtils.setField(fanout, "subscriberQueueSize", queueSize);
+        ReflectionTestUtils.setField(fanout, "dedupeWindow", dedupeWindow);
+        return fanout;
+    }
+
+    private SseFanout.Event event(String id) {
+        return new SseFanout.Event(id, "agent-log", "log " + id, null);
+    }
+}
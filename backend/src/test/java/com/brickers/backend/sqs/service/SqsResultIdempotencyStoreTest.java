@@ -0,0 +1,110 @@
+package com.brickers.backend.sqs.service;
+
+import com.brickers.backend.kids.dto.AiProcessResult;
+import com.brickers.backend.sqs.dto.SqsMessage;
+import com.brickers.backend.sqs.entity.ProcessedSqsResult;
+import com.brickers.backend.sqs.repository.ProcessedSqsResultRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SqsResultIdempotencyStoreTest {
+
+    private ProcessedSqsResultRepository repository;
+    private MongoTemplate mongoTemplate;
+    private SqsResultIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProcessedSqsResultRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        store = new SqsResultIdempotencyStore(repository, mongoTemplate);
+        ReflectionTestUtils.setField(store, "localMaxSize", 2);
+        ReflectionTestUtils.setField(store, "localTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(store, "claimTimeoutSeconds", 600L);
+    }
+
+    @Test
+    void keyOf_prefersResultVersionThenTimestampThenMessageId() {
+        LocalDateTime at = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        SqsMessage versioned = SqsMessage.builder().jobId("job1").timestamp(at)
+                .result(AiProcessResult.builder().resultVersion(3).build()).build();
+        SqsMessage timestamped = SqsMessage.builder().jobId("job1").timestamp(at).build();
+        SqsMessage bare = SqsMessage.builder().jobId("job1").build();
+
+        assertThat(store.keyOf(versioned, "m1")).isEqualTo("job1:v3");
+        assertThat(store.keyOf(timestamped, "m1")).isEqualTo("job1:t" + at);
+        assertThat(store.keyOf(bare, "m1")).isEqualTo("job1:mm1");
+    }
+
+    @Test
+    void tryClaim_firstDeliveryInsertsClaim() {
+        assertThat(store.tryClaim("job1:v1", "job1", "m1")).isTrue();
+
+        verify(repository).insert(any(ProcessedSqsResult.class));
+    }
+
+    @Test
+    void tryClaim_duplicateWithFreshClaimIsRejected() {
+        when(repository.insert(any(ProcessedSqsResult.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProcessedSqsResult.class))).thenReturn(null);
+
+        assertThat(store.tryClaim("job1:v1", "job1", "m2")).isFalse();
+    }
+
+    @Test
+    void tryClaim_duplicateWithStaleClaimIsTakenOver() {
+        when(repository.insert(any(ProcessedSqsResult.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProcessedSqsResult.class))).thenReturn(new ProcessedSqsResult());
+
+        assertThat(store.tryClaim("job1:v1", "job1", "m2")).isTrue();
+    }
+
+    @Test
+    void tryClaim_locallyProcessedKeySkipsMongo() {
+        store.markProcessed("job1:v1");
+
+        assertThat(store.tryClaim("job1:v1", "job1", "m2")).isFalse();
+        verify(repository, never()).insert(any(ProcessedSqsResult.class));
+    }
+
+    @Test
+    void tryClaim_expiredLocalEntryFallsBackToMongo() {
+        ReflectionTestUtils.setField(store, "localTtlSeconds", -1L);
+        store.markProcessed("job1:v1");
+
+        assertThat(store.tryClaim("job1:v1", "job1", "m2")).isTrue();
+        verify(repository).insert(any(ProcessedSqsResult.class));
+    }
+
+    @Test
+    void localCache_evictsLeastRecentlyUsedBeyondCapacity() {
+        store.markProcessed("a");
+        store.markProcessed("b");
+        store.tryClaim("a", "job", "m"); // a 접근 → b가 가장 오래됨
+        store.markProcessed("c");
+
+        assertThat(store.tryClaim("a", "job", "m")).isFalse();
+        assertThat(store.tryClaim("c", "job", "m")).isFalse();
+        assertThat(store.tryClaim("b", "job", "m")).isTrue();
+        verify(repository, times(1)).insert(any(ProcessedSqsResult.class));
+    }
+}